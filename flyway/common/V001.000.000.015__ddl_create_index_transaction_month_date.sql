@@ -0,0 +1 @@
+CREATE INDEX idx_transaction_month_date ON transaction (transaction_month_id, transaction_date);
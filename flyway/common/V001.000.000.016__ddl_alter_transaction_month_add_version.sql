@@ -0,0 +1 @@
+ALTER TABLE transaction_month ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
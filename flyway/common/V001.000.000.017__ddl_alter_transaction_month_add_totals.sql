@@ -0,0 +1,26 @@
+ALTER TABLE transaction_month ADD COLUMN income_completed DECIMAL(12,2) NOT NULL DEFAULT 0.00;
+ALTER TABLE transaction_month ADD COLUMN income_pending DECIMAL(12,2) NOT NULL DEFAULT 0.00;
+ALTER TABLE transaction_month ADD COLUMN expense_completed DECIMAL(12,2) NOT NULL DEFAULT 0.00;
+ALTER TABLE transaction_month ADD COLUMN expense_pending DECIMAL(12,2) NOT NULL DEFAULT 0.00;
+ALTER TABLE transaction_month ADD COLUMN closing_balance DECIMAL(12,2) NOT NULL DEFAULT 0.00;
+
+UPDATE transaction_month m SET
+    income_completed = s.income_completed,
+    income_pending = s.income_pending,
+    expense_completed = s.expense_completed,
+    expense_pending = s.expense_pending
+FROM (
+    SELECT t.transaction_month_id,
+           COALESCE(SUM(t.amount) FILTER (WHERE tt.type = 'INCOME' AND t.status = 'COMPLETED'), 0) AS income_completed,
+           COALESCE(SUM(t.amount) FILTER (WHERE tt.type = 'INCOME' AND t.status = 'PENDING'), 0) AS income_pending,
+           COALESCE(SUM(t.amount) FILTER (WHERE tt.type = 'EXPENSE' AND t.status = 'COMPLETED'), 0) AS expense_completed,
+           COALESCE(SUM(t.amount) FILTER (WHERE tt.type = 'EXPENSE' AND t.status = 'PENDING'), 0) AS expense_pending
+    FROM transaction t
+    JOIN transaction_type tt ON tt.id = t.transaction_type_id
+    WHERE t.transaction_month_id IS NOT NULL
+    GROUP BY t.transaction_month_id
+) s
+WHERE s.transaction_month_id = m.id;
+
+UPDATE transaction_month SET closing_balance = initial_balance
+    + income_completed + income_pending - expense_completed - expense_pending;
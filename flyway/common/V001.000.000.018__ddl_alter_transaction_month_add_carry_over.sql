@@ -0,0 +1,5 @@
+ALTER TABLE transaction_month ADD COLUMN carry_over BOOLEAN NOT NULL DEFAULT FALSE;
+
+ALTER TABLE transaction_month ALTER COLUMN initial_balance TYPE DECIMAL(12,2);
+
+CREATE INDEX idx_transaction_month_user_year_month ON transaction_month (user_id, year, month);
@@ -0,0 +1 @@
+CREATE INDEX idx_transaction_last_value ON transaction (user_id, transaction_type_id, description, transaction_date DESC) WHERE amount > 0;
@@ -0,0 +1,2 @@
+CREATE INDEX idx_user_login_id ON "user" (login, id);
+CREATE INDEX idx_user_name_id ON "user" (name, id);
@@ -0,0 +1 @@
+ALTER TABLE transaction_month ADD COLUMN snapshot TEXT;
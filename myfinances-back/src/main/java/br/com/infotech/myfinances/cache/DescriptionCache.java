@@ -0,0 +1,121 @@
+package br.com.infotech.myfinances.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Cache por usuário do índice de descrições usado no autocompletar
+ * ({@link DescriptionIndex}). O índice é carregado uma vez, atualizado a cada
+ * escrita de transação e descartado quando o usuário fica ocioso.
+ * <p>
+ * Uma carga que pode ter lido a escrita já confirmada não recebe a alteração
+ * de novo: o índice é descartado e recarregado na próxima leitura.
+ */
+@Component
+@Slf4j
+public class DescriptionCache {
+
+    private final Cache<Long, Loaded> cache;
+
+    // Orders loads against writes: a write is stamped when registered, before its
+    // commit, and a load when it finishes reading the table.
+    private final AtomicLong clock = new AtomicLong();
+
+    private record Loaded(DescriptionIndex index, long loadedAt) {
+    }
+
+    public DescriptionCache(
+            @Value("${myfinances.cache.description.idle:30m}") Duration idle,
+            @Value("${myfinances.cache.description.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idle)
+                .build();
+    }
+
+    /**
+     * Recupera o índice do usuário do cache ou, em caso de ausência, pelo loader
+     * informado.
+     *
+     * @param userId O id do usuário.
+     * @param loader Função que busca o uso das descrições do usuário no banco.
+     * @return O índice de descrições do usuário.
+     */
+    public DescriptionIndex get(Long userId, Function<Long, List<DescriptionIndex.Usage>> loader) {
+        return cache.get(userId, id -> {
+            DescriptionIndex index = new DescriptionIndex(loader.apply(id));
+            return new Loaded(index, clock.incrementAndGet());
+        }).index();
+    }
+
+    /**
+     * Aplica uma alteração ao índice do usuário, se ele estiver carregado. Dentro
+     * de uma transação a alteração só é aplicada após o commit.
+     *
+     * @param userId O id do usuário.
+     * @param change A alteração do índice.
+     */
+    public void update(Long userId, Consumer<DescriptionIndex> change) {
+        if (userId == null) {
+            return;
+        }
+        long writtenAt = clock.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(userId, writtenAt, change);
+                }
+            });
+        } else {
+            apply(userId, writtenAt, change);
+        }
+    }
+
+    /**
+     * Remove o índice do usuário, para escritas em lote que não valem a pena
+     * aplicar uma a uma. A remoção é repetida após o commit.
+     *
+     * @param userId O id do usuário.
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    log.debug("Evicting cached descriptions of user: {}", userId);
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private void apply(Long userId, long writtenAt, Consumer<DescriptionIndex> change) {
+        // computeIfPresent waits for a load in progress. Only a load that finished
+        // before the write was registered surely missed it; any later load may have
+        // read the committed row, so it is dropped instead of counting the row twice.
+        cache.asMap().computeIfPresent(userId, (id, loaded) -> {
+            if (loaded.loadedAt() > writtenAt) {
+                log.debug("Dropping descriptions of user {} loaded during a write", userId);
+                return null;
+            }
+            change.accept(loaded.index());
+            return loaded;
+        });
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.infotech.myfinances.cache;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Índice de prefixos das descrições de transação de um usuário, usado no
+ * autocompletar.
+ * <p>
+ * Cada descrição distinta (sem diferenciar maiúsculas) guarda a quantidade de
+ * usos e a data mais recente. As sugestões de um prefixo são ordenadas por uma
+ * pontuação de frequência com decaimento pela idade do último uso, com meia-vida
+ * de {@value #HALF_LIFE_DAYS} dias.
+ * <p>
+ * As instâncias são compartilhadas entre requisições e atualizadas de forma
+ * incremental após cada escrita; o acesso é sincronizado.
+ */
+public class DescriptionIndex {
+
+    static final int HALF_LIFE_DAYS = 90;
+
+    private final NavigableMap<String, Entry> entries = new TreeMap<>();
+
+    /**
+     * Uso agregado de uma descrição, como retornado pelo banco.
+     *
+     * @param description A descrição.
+     * @param uses        A quantidade de transações com a descrição.
+     * @param lastUsed    A data da transação mais recente com a descrição.
+     */
+    public record Usage(String description, long uses, LocalDate lastUsed) {
+    }
+
+    private static final class Entry {
+        private String description;
+        private long uses;
+        private LocalDate lastUsed;
+
+        private Entry(String description) {
+            this.description = description;
+        }
+    }
+
+    private record Scored(String description, double score, LocalDate lastUsed) {
+    }
+
+    private static final Comparator<Scored> RANK = Comparator
+            .comparingDouble(Scored::score)
+            .thenComparing(Scored::lastUsed)
+            .thenComparing(Scored::description, Comparator.reverseOrder());
+
+    public DescriptionIndex(List<Usage> usages) {
+        for (Usage usage : usages) {
+            add(usage.description(), usage.lastUsed(), usage.uses());
+        }
+    }
+
+    /**
+     * Registra um novo uso da descrição. A forma exibida passa a ser a do uso
+     * mais recente.
+     *
+     * @param description A descrição; vazia ou nula é ignorada.
+     * @param date        A data da transação.
+     */
+    public void add(String description, LocalDate date) {
+        add(description, date, 1);
+    }
+
+    /**
+     * Remove um uso da descrição, descartando-a quando não resta nenhum. A data
+     * do último uso é mantida, pois o índice não guarda as datas anteriores.
+     *
+     * @param description A descrição; vazia ou nula é ignorada.
+     */
+    public synchronized void remove(String description) {
+        String key = key(description);
+        if (key == null) {
+            return;
+        }
+        Entry entry = entries.get(key);
+        if (entry != null && --entry.uses <= 0) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Sugere as descrições que começam pelo prefixo informado, sem diferenciar
+     * maiúsculas, das mais relevantes para as menos relevantes.
+     *
+     * @param prefix O prefixo digitado; vazio ou nulo considera todas as descrições.
+     * @param limit  A quantidade máxima de sugestões.
+     * @param today  A data de referência para o decaimento.
+     * @return As descrições sugeridas.
+     */
+    public synchronized List<String> suggest(String prefix, int limit, LocalDate today) {
+        String from = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        NavigableMap<String, Entry> range = from.isEmpty() ? entries
+                : entries.subMap(from, true, from + Character.MAX_VALUE, false);
+
+        PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, RANK);
+        for (Entry entry : range.values()) {
+            top.add(new Scored(entry.description, score(entry, today), entry.lastUsed));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<String> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add(top.poll().description());
+        }
+        return result.reversed();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void add(String description, LocalDate date, long uses) {
+        String key = key(description);
+        if (key == null) {
+            return;
+        }
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry(description.trim()));
+        entry.uses += uses;
+        if (entry.lastUsed == null || !date.isBefore(entry.lastUsed)) {
+            entry.lastUsed = date;
+            entry.description = description.trim();
+        }
+    }
+
+    private static double score(Entry entry, LocalDate today) {
+        long age = Math.max(0, ChronoUnit.DAYS.between(entry.lastUsed, today));
+        return entry.uses * Math.pow(0.5, (double) age / HALF_LIFE_DAYS);
+    }
+
+    private static String key(String description) {
+        if (description == null || description.isBlank()) {
+            return null;
+        }
+        return description.trim().toLowerCase(Locale.ROOT);
+    }
+}
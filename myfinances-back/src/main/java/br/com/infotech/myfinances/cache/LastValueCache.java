@@ -0,0 +1,68 @@
+package br.com.infotech.myfinances.cache;
+
+import br.com.infotech.myfinances.dto.TransactionLastValueDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cache por usuário dos últimos valores de cada Tipo e Descrição, mantido até a
+ * próxima alteração de transação do usuário.
+ */
+@Component
+@Slf4j
+public class LastValueCache {
+
+    private final Cache<Long, List<TransactionLastValueDto>> cache;
+
+    public LastValueCache(
+            @Value("${myfinances.cache.last-value.ttl:30m}") Duration ttl,
+            @Value("${myfinances.cache.last-value.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Recupera os últimos valores do usuário do cache ou, em caso de ausência,
+     * pelo loader informado.
+     *
+     * @param userId O id do usuário.
+     * @param loader Função que busca os valores no banco.
+     * @return Os últimos valores do usuário.
+     */
+    public List<TransactionLastValueDto> get(Long userId, Function<Long, List<TransactionLastValueDto>> loader) {
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * Remove os valores do usuário. Dentro de uma transação a remoção é repetida
+     * após o commit, para que uma leitura concorrente não recoloque o valor antigo.
+     *
+     * @param userId O id do usuário.
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    log.debug("Evicting cached last values of user: {}", userId);
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.infotech.myfinances.cache;
+
+import br.com.infotech.myfinances.domain.TransactionType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache por usuário de todos os Tipos de Transação do usuário (de qualquer
+ * status), indexados pelo id e pela descrição ({@link TransactionTypeIndex}),
+ * mantido até a próxima alteração de tipo do usuário.
+ * <p>
+ * As entidades são compartilhadas entre requisições e não devem ser alteradas;
+ * servem apenas para leitura e como referência em associações.
+ */
+@Component
+@Slf4j
+public class TransactionTypeCache {
+
+    private final Cache<Long, TransactionTypeIndex> cache;
+
+    public TransactionTypeCache(
+            @Value("${myfinances.cache.transaction-type.ttl:30m}") Duration ttl,
+            @Value("${myfinances.cache.transaction-type.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Recupera os tipos do usuário do cache ou, em caso de ausência, pelo loader
+     * informado.
+     *
+     * @param userId O id do usuário.
+     * @param loader Função que busca os tipos do usuário no banco.
+     * @return Os tipos do usuário, indexados pelo id.
+     */
+    public Map<Long, TransactionType> get(Long userId, Function<Long, List<TransactionType>> loader) {
+        return index(userId, loader).byId();
+    }
+
+    /**
+     * Recupera o índice dos tipos do usuário, usado também na busca por descrição.
+     *
+     * @param userId O id do usuário.
+     * @param loader Função que busca os tipos do usuário no banco.
+     * @return O índice dos tipos do usuário.
+     */
+    public TransactionTypeIndex index(Long userId, Function<Long, List<TransactionType>> loader) {
+        return cache.get(userId, id -> new TransactionTypeIndex(loader.apply(id)));
+    }
+
+    /**
+     * Remove os tipos do usuário. Dentro de uma transação a remoção é repetida
+     * após o commit, para que uma leitura concorrente não recoloque o valor antigo.
+     *
+     * @param userId O id do usuário.
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    log.debug("Evicting cached transaction types of user: {}", userId);
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
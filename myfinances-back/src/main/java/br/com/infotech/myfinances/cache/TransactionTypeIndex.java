@@ -0,0 +1,212 @@
+package br.com.infotech.myfinances.cache;
+
+import br.com.infotech.myfinances.domain.TransactionType;
+import br.com.infotech.myfinances.domain.TransactionTypeStatus;
+import br.com.infotech.myfinances.domain.TransactionTypeType;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Tipos de Transação de um usuário, imutáveis, indexados pelo id e por trigramas
+ * da descrição em minúsculas dos tipos ativos.
+ * <p>
+ * A busca por trecho da descrição intersecta as listas dos trigramas do termo e
+ * confirma os candidatos com {@code contains}; termos com menos de três
+ * caracteres percorrem a lista.
+ */
+public final class TransactionTypeIndex {
+
+    private static final int GRAM = 3;
+    private static final int[] NONE = new int[0];
+    private static final Collator DESCRIPTION_COLLATOR = Collator.getInstance(Locale.of("pt", "BR"));
+
+    private final Map<Long, TransactionType> byId;
+    private final TransactionType[] active;
+    private final String[] lowered;
+    private final Map<String, int[]> postings;
+    private final int[] rank;
+    private final int[] byRank;
+    private final Map<Long, Integer> descriptionRank;
+
+    public TransactionTypeIndex(Collection<TransactionType> types) {
+        this.byId = types.stream()
+                .collect(Collectors.toUnmodifiableMap(TransactionType::getId, Function.identity()));
+        TransactionType[] all = types.stream()
+                .sorted(Comparator.comparing(TransactionType::getId))
+                .toArray(TransactionType[]::new);
+        this.active = Arrays.stream(all)
+                .filter(t -> t.getStatus() == TransactionTypeStatus.ACTIVE)
+                .toArray(TransactionType[]::new);
+        this.lowered = new String[active.length];
+
+        Map<String, List<Integer>> lists = new HashMap<>();
+        Map<Long, Integer> positions = new HashMap<>(active.length * 2);
+        for (int i = 0; i < active.length; i++) {
+            positions.put(active[i].getId(), i);
+            lowered[i] = lower(active[i].getDescription());
+            for (String gram : grams(lowered[i])) {
+                lists.computeIfAbsent(gram, g -> new ArrayList<>()).add(i);
+            }
+        }
+        this.postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((gram, list) -> postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+
+        // Collation keys are computed once; comparing them is far cheaper than Collator.compare.
+        // Inactive types are ranked too, so a cursor may still point at a type deleted since.
+        CollationKey[] keys = new CollationKey[all.length];
+        for (int i = 0; i < all.length; i++) {
+            keys[i] = collationKey(all[i].getDescription());
+        }
+        int[] order = IntStream.range(0, all.length).boxed()
+                .sorted(Comparator.comparing((Integer i) -> keys[i]).thenComparing(i -> i))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.byRank = new int[active.length];
+        this.rank = new int[active.length];
+        this.descriptionRank = new HashMap<>(all.length * 2);
+        int r = 0;
+        for (int k = 0; k < order.length; k++) {
+            TransactionType type = all[order[k]];
+            descriptionRank.put(type.getId(), k);
+            Integer position = positions.get(type.getId());
+            if (position != null) {
+                byRank[r] = position;
+                rank[position] = r++;
+            }
+        }
+    }
+
+    /**
+     * @return Todos os tipos do usuário, de qualquer status, indexados pelo id.
+     */
+    public Map<Long, TransactionType> byId() {
+        return byId;
+    }
+
+    /**
+     * Ordem alfabética (pt-BR) das descrições dos tipos deste índice, de qualquer
+     * status.
+     */
+    public Comparator<TransactionType> descriptionOrder() {
+        return Comparator.comparing(t -> descriptionRank.get(t.getId()));
+    }
+
+    /**
+     * Mesma ordem de {@link #descriptionOrder()} (descrição em pt-BR, depois id),
+     * calculada a partir dos valores, para tipos fora do índice, como a posição
+     * guardada em um cursor.
+     */
+    public static Comparator<TransactionType> descriptionValueOrder() {
+        return Comparator.comparing((TransactionType t) -> collationKey(t.getDescription()))
+                .thenComparing(TransactionType::getId);
+    }
+
+    /**
+     * Tipos ativos cuja descrição contém o termo, ignorando maiúsculas, em ordem
+     * alfabética da descrição.
+     *
+     * @param description O termo buscado; nulo ou vazio não filtra.
+     * @param types       Os tipos (receita/despesa) aceitos.
+     * @return Os tipos encontrados.
+     */
+    public List<TransactionType> search(String description, Collection<TransactionTypeType> types) {
+        String term = description == null ? "" : lower(description);
+
+        List<TransactionType> result = new ArrayList<>();
+        if (term.length() < GRAM) {
+            for (int position : byRank) {
+                addIfMatch(position, term, types, result);
+            }
+            return result;
+        }
+
+        int[] candidates = candidates(term);
+        int[] ranks = new int[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            ranks[i] = rank[candidates[i]];
+        }
+        Arrays.sort(ranks);
+        for (int r : ranks) {
+            addIfMatch(byRank[r], term, types, result);
+        }
+        return result;
+    }
+
+    private void addIfMatch(int i, String term, Collection<TransactionTypeType> types, List<TransactionType> result) {
+        if (types.contains(active[i].getType()) && lowered[i].contains(term)) {
+            result.add(active[i]);
+        }
+    }
+
+    /**
+     * Positions holding every trigram of the term, smallest lists first.
+     */
+    private int[] candidates(String term) {
+        List<int[]> lists = new ArrayList<>();
+        for (String gram : grams(term)) {
+            int[] list = postings.get(gram);
+            if (list == null) {
+                return NONE;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(l -> l.length));
+
+        int[] result = lists.get(0);
+        for (int k = 1; k < lists.size() && result.length > 0; k++) {
+            result = intersect(result, lists.get(k));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static CollationKey collationKey(String text) {
+        synchronized (DESCRIPTION_COLLATOR) {
+            return DESCRIPTION_COLLATOR.getCollationKey(text == null ? "" : text);
+        }
+    }
+
+    private static String lower(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.infotech.myfinances.cache;
+
+import br.com.infotech.myfinances.domain.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache em memória dos usuários resolvidos pelo login, usado pelo
+ * {@link br.com.infotech.myfinances.filter.UserContextFilter} para evitar uma
+ * consulta ao banco a cada requisição.
+ */
+@Component
+@Slf4j
+public class UserCache {
+
+    private final Cache<String, User> cache;
+    private final LongAdder invalidations = new LongAdder();
+
+    public UserCache(
+            @Value("${myfinances.cache.user.ttl:60s}") Duration ttl,
+            @Value("${myfinances.cache.user.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Recupera o usuário do cache ou, em caso de ausência, pelo loader informado.
+     * Logins não encontrados não são armazenados.
+     *
+     * @param login  O login do usuário.
+     * @param loader Função que busca o usuário no banco.
+     * @return Um Optional contendo o usuário, se encontrado.
+     */
+    public Optional<User> get(String login, Function<String, Optional<User>> loader) {
+        return Optional.ofNullable(cache.get(login, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Remove o usuário do cache. Dentro de uma transação a remoção é repetida
+     * após o commit, para que uma leitura concorrente não recoloque o valor antigo.
+     *
+     * @param login O login do usuário.
+     */
+    public void evict(String login) {
+        if (login == null) {
+            return;
+        }
+        invalidate(login);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(login);
+                }
+            });
+        }
+    }
+
+    public UserCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new UserCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                invalidations.sum(), cache.estimatedSize());
+    }
+
+    private void invalidate(String login) {
+        log.debug("Evicting cached user: {}", login);
+        cache.invalidate(login);
+        invalidations.increment();
+    }
+
+    /**
+     * Contadores do cache de usuários.
+     *
+     * @param hits          Requisições atendidas pelo cache.
+     * @param misses        Requisições que consultaram o banco.
+     * @param evictions     Entradas removidas por tamanho ou expiração.
+     * @param invalidations Entradas removidas por alteração do usuário.
+     * @param size          Quantidade aproximada de entradas.
+     */
+    public record UserCacheStats(long hits, long misses, long evictions, long invalidations, long size) {
+    }
+}
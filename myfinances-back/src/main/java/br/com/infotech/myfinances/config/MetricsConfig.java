@@ -0,0 +1,47 @@
+package br.com.infotech.myfinances.config;
+
+import br.com.infotech.myfinances.cache.UserCache;
+import br.com.infotech.myfinances.security.LoginRateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the application's own counters (user cache, login rate limiter)
+ * next to the Actuator metrics.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder userCacheMetrics(UserCache userCache) {
+        return registry -> {
+            FunctionCounter.builder("myfinances.cache.user.requests", userCache, c -> c.stats().hits())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("myfinances.cache.user.requests", userCache, c -> c.stats().misses())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("myfinances.cache.user.evictions", userCache, c -> c.stats().evictions())
+                    .register(registry);
+            FunctionCounter.builder("myfinances.cache.user.invalidations", userCache, c -> c.stats().invalidations())
+                    .register(registry);
+            Gauge.builder("myfinances.cache.user.size", userCache, c -> c.stats().size())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder loginRateLimiterMetrics(LoginRateLimiter loginRateLimiter) {
+        return registry -> {
+            FunctionCounter.builder("myfinances.login.rejected", loginRateLimiter, l -> l.stats().rejectedByLogin())
+                    .tag("key", "login")
+                    .register(registry);
+            FunctionCounter.builder("myfinances.login.rejected", loginRateLimiter, l -> l.stats().rejectedByIp())
+                    .tag("key", "ip")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.infotech.myfinances.config;
+
+import br.com.infotech.myfinances.datasource.RecentWriteTracker;
+import br.com.infotech.myfinances.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write splitting, enabled when myfinances.datasource.replica.url is set.
+ * <p>
+ * The application DataSource is a {@link LazyConnectionDataSourceProxy}: the
+ * physical connection is only fetched at the first statement, once the
+ * transaction has marked it read-only. Read-only transactions
+ * ({@code @Transactional(readOnly = true)}) then go to the replica pool and
+ * everything else to the primary pool configured in spring.datasource.
+ * <p>
+ * Relies on spring.jpa.open-in-view being off: with it, the request's single
+ * EntityManager would keep the replica connection of a read for a later write.
+ */
+@Configuration
+@ConditionalOnProperty("myfinances.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("myfinances.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("myfinances.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public RecentWriteTracker recentWriteTracker(
+            @Value("${myfinances.datasource.read-your-writes-window:5s}") Duration window,
+            @Value("${myfinances.datasource.read-your-writes-max-size:100000}") long maxSize) {
+        return new RecentWriteTracker(window, maxSize);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            RecentWriteTracker recentWriteTracker) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica, recentWriteTracker));
+        return proxy;
+    }
+}
@@ -1,19 +1,40 @@
 package br.com.infotech.myfinances.context;
 
 import br.com.infotech.myfinances.domain.User;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+/**
+ * Usuário autenticado da requisição atual.
+ * <p>
+ * O usuário é guardado como atributo da requisição, e não em um ThreadLocal
+ * próprio: o valor pertence à requisição e não à thread que a atende, seja uma
+ * thread reutilizada do pool do Jetty ou uma thread virtual criada para ela.
+ */
 public class UserContext {
-    private static final ThreadLocal<User> CURRENT_USER = new ThreadLocal<>();
 
-    public static void setCurrentUser(User user) {
-        CURRENT_USER.set(user);
+    private static final String ATTRIBUTE = UserContext.class.getName() + ".USER";
+
+    private UserContext() {
+    }
+
+    public static void setCurrentUser(HttpServletRequest request, User user) {
+        request.setAttribute(ATTRIBUTE, user);
     }
 
+    /**
+     * @return O usuário da requisição em andamento, ou null fora de uma
+     *         requisição ou sem usuário autenticado.
+     */
     public static User getCurrentUser() {
-        return CURRENT_USER.get();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                ? (User) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
     }
 
-    public static void clear() {
-        CURRENT_USER.remove();
+    public static void clear(HttpServletRequest request) {
+        request.removeAttribute(ATTRIBUTE);
     }
 }
@@ -1,8 +1,10 @@
 package br.com.infotech.myfinances.controller;
 
 import br.com.infotech.myfinances.dto.UserDto;
+import br.com.infotech.myfinances.security.LoginRateLimiter;
 import br.com.infotech.myfinances.service.UserService;
 import br.com.infotech.myfinances.controller.api.ILoginController;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,12 +19,17 @@ import org.springframework.web.bind.annotation.RestController;
 public class LoginController implements ILoginController {
 
     private final UserService userService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @PostMapping(value = "/login", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
     @Override
     public ResponseEntity<UserDto> login(
             @RequestParam("login") String login,
-            @RequestParam("password") String password) {
+            @RequestParam("password") String password,
+            HttpServletRequest request) {
+
+        // Checked before any lookup or hashing so a flood does not reach the database
+        loginRateLimiter.acquire(login, request.getRemoteAddr());
 
         UserDto userDto = userService.login(login, password);
         return ResponseEntity.ok(userDto);
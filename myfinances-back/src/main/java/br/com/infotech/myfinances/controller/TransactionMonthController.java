@@ -1,24 +1,93 @@
 package br.com.infotech.myfinances.controller;
 
 import br.com.infotech.myfinances.controller.api.ITransactionMonthController;
+import br.com.infotech.myfinances.dto.TransactionDeltaDto;
 import br.com.infotech.myfinances.dto.TransactionDto;
+import br.com.infotech.myfinances.dto.TransactionImportDto;
+import br.com.infotech.myfinances.dto.TransactionLastValueDto;
 import br.com.infotech.myfinances.dto.TransactionMonthDto;
+import br.com.infotech.myfinances.dto.TransactionMonthStateDto;
+import br.com.infotech.myfinances.dto.TransactionMonthSummaryCheckDto;
+import br.com.infotech.myfinances.dto.TransactionMonthSummaryDto;
+import br.com.infotech.myfinances.dto.TransactionReportDto;
+import br.com.infotech.myfinances.statement.StatementFormat;
+import br.com.infotech.myfinances.service.TransactionExportService;
+import br.com.infotech.myfinances.service.TransactionImportService;
 import br.com.infotech.myfinances.service.TransactionMonthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
 public class TransactionMonthController implements ITransactionMonthController {
 
+    // Open and closed months alike: every read revalidates the "id-version" ETag, so a reopened
+    // month is never served from a stale snapshot
+    private static final CacheControl MONTH_CACHE = CacheControl.noCache().cachePrivate();
+
     private final TransactionMonthService transactionMonthService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
+
+    @Override
+    public ResponseEntity<?> getOrCreateMonth(Integer year, Integer month, WebRequest request) {
+        Optional<TransactionMonthStateDto> state = transactionMonthService.findMonthState(month, year);
+        if (state.isPresent()) {
+            String currentETag = toETag(state.get().getId(), state.get().getVersion());
+            if (state.get().getSnapshot() != null) {
+                // Closed month: the stored JSON is written as is (304 handled by Spring from the ETag)
+                return ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .cacheControl(MONTH_CACHE)
+                        .eTag(currentETag)
+                        .body(state.get().getSnapshot());
+            }
+            if (request.checkNotModified(currentETag)) {
+                // 304 and ETag already written by checkNotModified
+                return null;
+            }
+        }
+
+        TransactionMonthDto dto = transactionMonthService.getOrCreateMonth(month, year);
+        return ResponseEntity.ok()
+                .cacheControl(MONTH_CACHE)
+                .eTag(toETag(dto.getId(), dto.getVersion()))
+                .body(dto);
+    }
+
+    @Override
+    public ResponseEntity<TransactionMonthDto> closeMonth(Long id) {
+        return ResponseEntity.ok(transactionMonthService.closeMonth(id));
+    }
+
+    @Override
+    public ResponseEntity<TransactionMonthDto> reopenMonth(Long id) {
+        return ResponseEntity.ok(transactionMonthService.reopenMonth(id));
+    }
 
     @Override
-    public ResponseEntity<TransactionMonthDto> getOrCreateMonth(Integer year, Integer month) {
-        return ResponseEntity.ok(transactionMonthService.getOrCreateMonth(month, year));
+    public ResponseEntity<TransactionMonthSummaryDto> getSummary(Integer year, Integer month) {
+        return ResponseEntity.of(transactionMonthService.findSummary(month, year));
+    }
+
+    @Override
+    public ResponseEntity<TransactionMonthSummaryCheckDto> checkSummary(Long id) {
+        return ResponseEntity.ok(transactionMonthService.checkSummary(id));
     }
 
     @Override
@@ -26,6 +95,11 @@ public class TransactionMonthController implements ITransactionMonthController {
         return ResponseEntity.ok(transactionMonthService.updateInitialBalance(id, initialBalance));
     }
 
+    @Override
+    public ResponseEntity<TransactionMonthDto> updateCarryOver(Long id, Boolean carryOver) {
+        return ResponseEntity.ok(transactionMonthService.updateCarryOver(id, carryOver));
+    }
+
     @Override
     public ResponseEntity<TransactionMonthDto> addTransaction(Long monthId, TransactionDto dto) {
         return ResponseEntity.ok(transactionMonthService.addTransaction(monthId, dto));
@@ -41,8 +115,61 @@ public class TransactionMonthController implements ITransactionMonthController {
         return ResponseEntity.ok(transactionMonthService.deleteTransaction(transactionId));
     }
 
+    @Override
+    public ResponseEntity<TransactionDeltaDto> addTransactionDelta(Long monthId, TransactionDto dto) {
+        return ResponseEntity.ok(transactionMonthService.addTransactionDelta(monthId, dto));
+    }
+
+    @Override
+    public ResponseEntity<TransactionDeltaDto> updateTransactionDelta(Long transactionId, TransactionDto dto) {
+        return ResponseEntity.ok(transactionMonthService.updateTransactionDelta(transactionId, dto));
+    }
+
+    @Override
+    public ResponseEntity<TransactionDeltaDto> deleteTransactionDelta(Long transactionId) {
+        return ResponseEntity.ok(transactionMonthService.deleteTransactionDelta(transactionId));
+    }
+
     @Override
     public ResponseEntity<BigDecimal> getLastTransactionValue(Long transactionTypeId, String description) {
         return ResponseEntity.ok(transactionMonthService.getLastTransactionValue(transactionTypeId, description));
     }
+
+    @Override
+    public ResponseEntity<TransactionImportDto> importStatement(Long id, MultipartFile file, StatementFormat format,
+            String charset, Long expenseTypeId, Long incomeTypeId) throws IOException {
+        StatementFormat statementFormat = format != null ? format : StatementFormat.fromFilename(file.getOriginalFilename());
+        return ResponseEntity.ok(transactionImportService.importStatement(id, statementFormat, file.getInputStream(),
+                Charset.forName(charset), expenseTypeId, incomeTypeId));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportTransactions(TransactionExportService.Format format) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transacoes." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(transactionExportService.export(format));
+    }
+
+    @Override
+    public ResponseEntity<List<TransactionLastValueDto>> getLastTransactionValues() {
+        return ResponseEntity.ok(transactionMonthService.getLastTransactionValues());
+    }
+
+    @Override
+    public ResponseEntity<List<String>> suggestDescriptions(String prefix, int limit) {
+        return ResponseEntity.ok(transactionMonthService.suggestDescriptions(prefix, limit));
+    }
+
+    @Override
+    public ResponseEntity<TransactionReportDto> getReport(YearMonth from, YearMonth to) {
+        return ResponseEntity.ok(transactionMonthService.getReport(from, to));
+    }
+
+    private String toETag(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
 }
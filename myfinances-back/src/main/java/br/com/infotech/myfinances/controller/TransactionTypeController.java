@@ -1,5 +1,6 @@
 package br.com.infotech.myfinances.controller;
 
+import br.com.infotech.myfinances.dto.CursorPageDto;
 import br.com.infotech.myfinances.dto.TransactionTypeDto;
 import br.com.infotech.myfinances.service.TransactionTypeService;
 import br.com.infotech.myfinances.controller.api.ITransactionTypeController;
@@ -27,6 +28,17 @@ public class TransactionTypeController implements ITransactionTypeController {
         return ResponseEntity.ok(transactionTypeService.findAll(description, types, pageable));
     }
 
+    @Override
+    public ResponseEntity<CursorPageDto<TransactionTypeDto>> scroll(
+            String description,
+            List<String> types,
+            String cursor,
+            boolean total,
+            @PageableDefault(size = 10, sort = "description") Pageable pageable) {
+        return ResponseEntity.ok(transactionTypeService.scroll(description, types, pageable.getSort(),
+                pageable.getPageSize(), cursor, total));
+    }
+
     @Override
     public ResponseEntity<TransactionTypeDto> findById(Long id) {
         return ResponseEntity.ok(transactionTypeService.findById(id));
@@ -2,6 +2,7 @@ package br.com.infotech.myfinances.controller;
 
 import br.com.infotech.myfinances.controller.api.IUserController;
 import br.com.infotech.myfinances.domain.UserStatus;
+import br.com.infotech.myfinances.dto.CursorPageDto;
 import br.com.infotech.myfinances.dto.UserDto;
 import br.com.infotech.myfinances.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -47,6 +48,16 @@ public class UserController implements IUserController {
         return ResponseEntity.ok(userService.findAll(statuses, pageable));
     }
 
+    @Override
+    @GetMapping(produces = CursorPageDto.MEDIA_TYPE)
+    public ResponseEntity<CursorPageDto<UserDto>> scroll(
+            @RequestParam(value = "statuses", required = false) List<UserStatus> statuses,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "total", defaultValue = "false") boolean total,
+            Pageable pageable) {
+        return ResponseEntity.ok(userService.scroll(statuses, pageable.getSort(), pageable.getPageSize(), cursor, total));
+    }
+
     @Override
     @PostMapping
     public ResponseEntity<UserDto> create(
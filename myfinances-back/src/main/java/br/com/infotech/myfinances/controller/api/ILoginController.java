@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -18,7 +19,9 @@ public interface ILoginController {
     @ApiResponse(responseCode = "400", description = "Dados inválidos.")
     @ApiResponse(responseCode = "403", description = "Usuário bloqueado.")
     @ApiResponse(responseCode = "401", description = "Credenciais inválidas.")
+    @ApiResponse(responseCode = "429", description = "Muitas tentativas de login para o usuário ou IP.")
     ResponseEntity<UserDto> login(
             @Parameter(description = "Login do usuário", required = true) @RequestParam("login") String login,
-            @Parameter(description = "Senha do usuário", required = true) @RequestParam("password") String password);
+            @Parameter(description = "Senha do usuário", required = true) @RequestParam("password") String password,
+            @Parameter(hidden = true) HttpServletRequest request);
 }
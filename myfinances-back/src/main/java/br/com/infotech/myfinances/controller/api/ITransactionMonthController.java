@@ -1,28 +1,75 @@
 package br.com.infotech.myfinances.controller.api;
 
+import br.com.infotech.myfinances.dto.TransactionDeltaDto;
 import br.com.infotech.myfinances.dto.TransactionDto;
+import br.com.infotech.myfinances.dto.TransactionImportDto;
+import br.com.infotech.myfinances.dto.TransactionLastValueDto;
 import br.com.infotech.myfinances.dto.TransactionMonthDto;
+import br.com.infotech.myfinances.dto.TransactionMonthSummaryCheckDto;
+import br.com.infotech.myfinances.dto.TransactionMonthSummaryDto;
+import br.com.infotech.myfinances.dto.TransactionReportDto;
+import br.com.infotech.myfinances.service.TransactionExportService;
+import br.com.infotech.myfinances.statement.StatementFormat;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
 
 @Tag(name = "Transaction Months", description = "Gerenciamento de Transações Mensais (Planilha)")
 @RequestMapping("/transaction-months")
 public interface ITransactionMonthController {
 
         @GetMapping("/{year}/{month}")
-        @Operation(summary = "Obter ou criar mês", description = "Retorna os dados do mês. Se não existir, cria e gera transações recorrentes.")
-        ResponseEntity<TransactionMonthDto> getOrCreateMonth(@PathVariable("year") Integer year,
+        @Operation(summary = "Obter ou criar mês", description = "Retorna os dados do mês. Se não existir, cria e gera transações recorrentes. "
+                        + "Responde 304 quando o header If-None-Match corresponde à versão atual do mês. "
+                        + "Meses fechados são servidos do snapshot gravado no fechamento. Em ambos os casos a resposta é "
+                        + "Cache-Control: no-cache, private, e o cliente revalida o ETag a cada leitura, inclusive após reabrir o mês.")
+        @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = TransactionMonthDto.class)))
+        ResponseEntity<?> getOrCreateMonth(@PathVariable("year") Integer year,
+                        @PathVariable("month") Integer month, WebRequest request);
+
+        @PostMapping("/{id}/close")
+        @Operation(summary = "Fechar mês", description = "Congela o mês em um snapshot (transações e totais). Alterações no mês passam a ser rejeitadas com 409 até que seja reaberto, "
+                        + "e alterações de saldo em meses anteriores deixam de ser propagadas a partir dele.")
+        @ApiResponse(responseCode = "409", description = "Mês já fechado")
+        ResponseEntity<TransactionMonthDto> closeMonth(@PathVariable("id") Long id);
+
+        @PostMapping("/{id}/reopen")
+        @Operation(summary = "Reabrir mês", description = "Reabre um mês fechado, descartando o snapshot. Meses com saldo anterior acumulado voltam a receber o saldo final do mês anterior.")
+        ResponseEntity<TransactionMonthDto> reopenMonth(@PathVariable("id") Long id);
+
+        @GetMapping("/{year}/{month}/summary")
+        @Operation(summary = "Obter totais do mês", description = "Retorna os totais de receitas e despesas (realizadas e pendentes) e o saldo final do mês, sem carregar as transações. Não cria o mês.")
+        @ApiResponse(responseCode = "404", description = "Mês não encontrado")
+        ResponseEntity<TransactionMonthSummaryDto> getSummary(@PathVariable("year") Integer year,
                         @PathVariable("month") Integer month);
 
+        @GetMapping("/{id}/summary/check")
+        @Operation(summary = "Verificar totais do mês", description = "Recalcula os totais a partir das transações e informa se divergem dos valores armazenados.")
+        ResponseEntity<TransactionMonthSummaryCheckDto> checkSummary(@PathVariable("id") Long id);
+
         @PatchMapping("/{id}/initial-balance")
         @Operation(summary = "Atualizar saldo inicial", description = "Atualiza o saldo inicial do mês.")
         ResponseEntity<TransactionMonthDto> updateInitialBalance(@PathVariable("id") Long id,
                         @RequestBody BigDecimal initialBalance);
 
+        @PatchMapping("/{id}/carry-over")
+        @Operation(summary = "Atualizar saldo inicial automático", description = "Quando ativado, o saldo inicial do mês passa a ser o saldo final do mês anterior e acompanha suas alterações.")
+        ResponseEntity<TransactionMonthDto> updateCarryOver(@PathVariable("id") Long id,
+                        @RequestBody Boolean carryOver);
+
         @PostMapping("/{monthId}/transactions")
         @Operation(summary = "Adicionar transação", description = "Adiciona uma nova linha de transação ao mês.")
         ResponseEntity<TransactionMonthDto> addTransaction(@PathVariable("monthId") Long monthId,
@@ -37,9 +84,55 @@ public interface ITransactionMonthController {
         @Operation(summary = "Excluir transação", description = "Remove uma linha de transação.")
         ResponseEntity<TransactionMonthDto> deleteTransaction(@PathVariable("transactionId") Long transactionId);
 
+        @PostMapping(value = "/{monthId}/transactions", produces = TransactionDeltaDto.MEDIA_TYPE)
+        @Operation(summary = "Adicionar transação (delta)", description = "Adiciona uma nova linha e retorna apenas a linha criada e a versão do mês. Ativado pelo header Accept: " + TransactionDeltaDto.MEDIA_TYPE)
+        ResponseEntity<TransactionDeltaDto> addTransactionDelta(@PathVariable("monthId") Long monthId,
+                        @RequestBody TransactionDto dto);
+
+        @PutMapping(value = "/transactions/{transactionId}", produces = TransactionDeltaDto.MEDIA_TYPE)
+        @Operation(summary = "Atualizar transação (delta)", description = "Atualiza uma linha e retorna apenas a linha alterada e a versão do mês. Ativado pelo header Accept: " + TransactionDeltaDto.MEDIA_TYPE)
+        ResponseEntity<TransactionDeltaDto> updateTransactionDelta(@PathVariable("transactionId") Long transactionId,
+                        @RequestBody TransactionDto dto);
+
+        @DeleteMapping(value = "/transactions/{transactionId}", produces = TransactionDeltaDto.MEDIA_TYPE)
+        @Operation(summary = "Excluir transação (delta)", description = "Remove uma linha e retorna apenas a linha removida e a versão do mês. Ativado pelo header Accept: " + TransactionDeltaDto.MEDIA_TYPE)
+        ResponseEntity<TransactionDeltaDto> deleteTransactionDelta(@PathVariable("transactionId") Long transactionId);
+
+        @PostMapping(value = "/{id}/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        @Operation(summary = "Importar extrato", description = "Importa um extrato bancário CSV (data;histórico;valor) ou OFX para o mês como transações realizadas. "
+                        + "O Tipo de Transação é escolhido pela descrição contida no histórico; lançamentos sem correspondência usam o tipo padrão informado ou são ignorados. "
+                        + "Retorna apenas o resumo da importação e os novos totais do mês.")
+        ResponseEntity<TransactionImportDto> importStatement(@PathVariable("id") Long id,
+                        @RequestPart("file") MultipartFile file,
+                        @RequestParam(value = "format", required = false) StatementFormat format,
+                        @RequestParam(value = "charset", defaultValue = "UTF-8") String charset,
+                        @RequestParam(value = "expenseTypeId", required = false) Long expenseTypeId,
+                        @RequestParam(value = "incomeTypeId", required = false) Long incomeTypeId) throws IOException;
+
+        @GetMapping("/export")
+        @Operation(summary = "Exportar transações", description = "Exporta todo o histórico de transações do usuário em CSV ou JSON delimitado por linhas (NDJSON), em ordem de data. Não cria meses.")
+        ResponseEntity<StreamingResponseBody> exportTransactions(
+                        @RequestParam(value = "format", defaultValue = "CSV") TransactionExportService.Format format);
+
         @GetMapping("/last-value")
         @Operation(summary = "Obter último valor", description = "Busca o último valor utilizado para um Tipo e Descrição.")
         ResponseEntity<BigDecimal> getLastTransactionValue(
                         @RequestParam("transactionTypeId") Long transactionTypeId,
                         @RequestParam(value = "description", required = false) String description);
+
+        @GetMapping("/last-values")
+        @Operation(summary = "Obter últimos valores", description = "Busca, em uma única chamada, o último valor utilizado para cada Tipo e Descrição do usuário. Entradas sem descrição trazem o último valor do tipo.")
+        ResponseEntity<List<TransactionLastValueDto>> getLastTransactionValues();
+
+        @GetMapping("/descriptions")
+        @Operation(summary = "Sugerir descrições", description = "Sugere as descrições já utilizadas pelo usuário que começam pelo prefixo informado (sem diferenciar maiúsculas), ordenadas pela frequência e pelo uso mais recente. O limite vai de 1 a 50.")
+        ResponseEntity<List<String>> suggestDescriptions(
+                        @RequestParam(value = "prefix", required = false) String prefix,
+                        @RequestParam(value = "limit", defaultValue = "10") int limit);
+
+        @GetMapping("/report")
+        @Operation(summary = "Relatório por período", description = "Retorna os totais por mês e por tipo de transação entre os meses informados (formato yyyy-MM, inclusivos). Não cria meses.")
+        ResponseEntity<TransactionReportDto> getReport(
+                        @RequestParam("from") YearMonth from,
+                        @RequestParam("to") YearMonth to);
 }
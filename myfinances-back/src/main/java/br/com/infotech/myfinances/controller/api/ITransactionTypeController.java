@@ -1,5 +1,6 @@
 package br.com.infotech.myfinances.controller.api;
 
+import br.com.infotech.myfinances.dto.CursorPageDto;
 import br.com.infotech.myfinances.dto.TransactionTypeDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -23,6 +24,17 @@ public interface ITransactionTypeController {
             @RequestParam(value = "types", required = false) List<String> types,
             Pageable pageable);
 
+    @Operation(summary = "Listar tipos de transação por cursor", description = "Retorna uma página de tipos de transação a partir do cursor da página anterior, sem o total, salvo se solicitado. Ativado pelo header Accept: " + CursorPageDto.MEDIA_TYPE)
+    @ApiResponse(responseCode = "200", description = "Página recuperada com sucesso")
+    @ApiResponse(responseCode = "400", description = "Ordenação ou cursor inválidos")
+    @GetMapping(produces = CursorPageDto.MEDIA_TYPE)
+    ResponseEntity<CursorPageDto<TransactionTypeDto>> scroll(
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "types", required = false) List<String> types,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "total", defaultValue = "false") boolean total,
+            Pageable pageable);
+
     @Operation(summary = "Buscar tipo de transação por ID", description = "Retorna um único tipo de transação")
     @ApiResponse(responseCode = "200", description = "Tipo de transação recuperado com sucesso")
     @ApiResponse(responseCode = "404", description = "Tipo de transação não encontrado")
@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import br.com.infotech.myfinances.domain.UserStatus;
+import br.com.infotech.myfinances.dto.CursorPageDto;
 import br.com.infotech.myfinances.dto.UserDto;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
@@ -35,6 +36,16 @@ public interface IUserController {
                         @Parameter(description = "Lista de status para filtro") @RequestParam(value = "statuses", required = false) List<UserStatus> statuses,
                         @ParameterObject Pageable pageable);
 
+        @Operation(summary = "Busca usuários por cursor", description = "Retorna uma página de usuários a partir do cursor da página anterior, sem contar o total, salvo se solicitado. Ordenação por id, login ou name. Ativado pelo header Accept: " + CursorPageDto.MEDIA_TYPE)
+        @ApiResponse(responseCode = "200", description = "Página de usuários retornada com sucesso")
+        @ApiResponse(responseCode = "400", description = "Ordenação ou cursor inválidos.")
+        @ApiResponse(responseCode = "403", description = "Acesso negado.")
+        ResponseEntity<CursorPageDto<UserDto>> scroll(
+                        @Parameter(description = "Lista de status para filtro") @RequestParam(value = "statuses", required = false) List<UserStatus> statuses,
+                        @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(value = "cursor", required = false) String cursor,
+                        @Parameter(description = "Se o total de usuários deve ser contado") @RequestParam(value = "total", defaultValue = "false") boolean total,
+                        @ParameterObject Pageable pageable);
+
         @Operation(summary = "Cria um novo usuário", description = "Cria um novo usuário com status ACTIVE.")
         @ApiResponse(responseCode = "200", description = "Usuário criado com sucesso")
         @ApiResponse(responseCode = "400", description = "Dados inválidos.")
@@ -0,0 +1,58 @@
+package br.com.infotech.myfinances.datasource;
+
+import br.com.infotech.myfinances.context.UserContext;
+import br.com.infotech.myfinances.domain.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+
+/**
+ * Usuários que confirmaram uma escrita há menos de {@code window}. Enquanto
+ * estiverem nessa janela, as leituras deles vão para o primário, de forma que o
+ * usuário sempre veja o que acabou de alterar mesmo com atraso de replicação.
+ * <p>
+ * O estado é local à instância: com várias instâncias, o balanceador deve manter
+ * o usuário na mesma instância durante a janela.
+ */
+public class RecentWriteTracker implements TransactionExecutionListener {
+
+    private final Cache<Long, Boolean> recentWrites;
+
+    public RecentWriteTracker(Duration window, long maxSize) {
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Registra a escrita do usuário da requisição atual após o commit de uma
+     * transação que não seja somente leitura.
+     */
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly()) {
+            return;
+        }
+        User user = UserContext.getCurrentUser();
+        if (user != null) {
+            markWrite(user.getId());
+        }
+    }
+
+    public void markWrite(Long userId) {
+        recentWrites.put(userId, Boolean.TRUE);
+    }
+
+    /**
+     * @param userId O id do usuário.
+     * @return true se o usuário confirmou uma escrita dentro da janela.
+     */
+    public boolean wroteRecently(Long userId) {
+        return recentWrites.getIfPresent(userId) != null;
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.infotech.myfinances.datasource;
+
+import br.com.infotech.myfinances.context.UserContext;
+import br.com.infotech.myfinances.domain.User;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Destino das conexões somente leitura: a réplica, exceto para o usuário que
+ * escreveu recentemente, que continua lendo do primário.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final RecentWriteTracker recentWriteTracker;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, RecentWriteTracker recentWriteTracker) {
+        this.recentWriteTracker = recentWriteTracker;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        User user = UserContext.getCurrentUser();
+        return user != null && recentWriteTracker.wroteRecently(user.getId()) ? Target.PRIMARY : Target.REPLICA;
+    }
+}
@@ -33,6 +33,37 @@ public class TransactionMonth {
     @Column(nullable = false)
     private String status; // OPEN, CLOSED
 
-    @Column(name = "initial_balance", nullable = false)
+    // Balance and totals are only changed through TransactionMonthRepository
+    // statements, which apply deltas and bump the version atomically
+    @Column(name = "initial_balance", nullable = false, updatable = false)
     private BigDecimal initialBalance;
+
+    @Column(name = "income_completed", nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private BigDecimal incomeCompleted = BigDecimal.ZERO;
+
+    @Column(name = "income_pending", nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private BigDecimal incomePending = BigDecimal.ZERO;
+
+    @Column(name = "expense_completed", nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private BigDecimal expenseCompleted = BigDecimal.ZERO;
+
+    @Column(name = "expense_pending", nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private BigDecimal expensePending = BigDecimal.ZERO;
+
+    // Initial balance plus all income minus all expense of the month
+    @Column(name = "closing_balance", nullable = false, updatable = false)
+    private BigDecimal closingBalance;
+
+    // When set, the initial balance follows the closing balance of the previous month
+    @Column(name = "carry_over", nullable = false, updatable = false)
+    @Builder.Default
+    private Boolean carryOver = false;
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private Long version = 0L;
 }
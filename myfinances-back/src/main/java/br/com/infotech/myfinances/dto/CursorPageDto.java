@@ -0,0 +1,20 @@
+package br.com.infotech.myfinances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    public static final String MEDIA_TYPE = "application/vnd.myfinances.cursor+json";
+
+    private List<T> content;
+    private String next;
+    private Long total;
+}
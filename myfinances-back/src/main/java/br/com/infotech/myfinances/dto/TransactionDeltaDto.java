@@ -0,0 +1,20 @@
+package br.com.infotech.myfinances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionDeltaDto {
+    public static final String MEDIA_TYPE = "application/vnd.myfinances.delta+json";
+
+    private Long monthId;
+    private Long version;
+    private Boolean deleted;
+    private TransactionDto transaction;
+    private TransactionMonthSummaryDto summary;
+}
@@ -1,6 +1,7 @@
 package br.com.infotech.myfinances.dto;
 
 import br.com.infotech.myfinances.domain.TransactionStatus;
+import br.com.infotech.myfinances.domain.TransactionTypeType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,6 +17,7 @@ public class TransactionDto {
     private Long id;
     private Integer day;
     private Long transactionTypeId;
+    private TransactionTypeType type;
     private String description;
     private BigDecimal amount;
     private TransactionStatus status;
@@ -0,0 +1,24 @@
+package br.com.infotech.myfinances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionImportDto {
+    private Long monthId;
+    private Long version;
+    private Integer imported;
+    private Integer skipped;
+    /** Históricos distintos (até 20) sem Tipo de Transação correspondente. */
+    private List<String> unmatched;
+    /** Históricos distintos (até 20) cortados em 50 caracteres ao gravar. */
+    private List<String> truncated;
+    private TransactionMonthSummaryDto summary;
+}
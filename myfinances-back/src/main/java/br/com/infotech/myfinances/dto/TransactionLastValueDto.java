@@ -0,0 +1,19 @@
+package br.com.infotech.myfinances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionLastValueDto {
+    private Long transactionTypeId;
+    /** Null para o último valor do tipo, independente da descrição. */
+    private String description;
+    private BigDecimal amount;
+}
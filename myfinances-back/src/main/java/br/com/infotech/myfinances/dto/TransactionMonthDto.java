@@ -18,5 +18,8 @@ public class TransactionMonthDto {
     private Integer year;
     private String status;
     private BigDecimal initialBalance;
+    private Boolean carryOver;
+    private Long version;
+    private TransactionMonthSummaryDto summary;
     private List<TransactionDto> transactions;
 }
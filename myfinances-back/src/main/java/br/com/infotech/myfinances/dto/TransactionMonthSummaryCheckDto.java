@@ -0,0 +1,17 @@
+package br.com.infotech.myfinances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionMonthSummaryCheckDto {
+    private Long monthId;
+    private Boolean consistent;
+    private TransactionMonthSummaryDto stored;
+    private TransactionMonthSummaryDto derived;
+}
@@ -0,0 +1,20 @@
+package br.com.infotech.myfinances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionMonthSummaryDto {
+    private BigDecimal incomeCompleted;
+    private BigDecimal incomePending;
+    private BigDecimal expenseCompleted;
+    private BigDecimal expensePending;
+    private BigDecimal closingBalance;
+}
@@ -0,0 +1,22 @@
+package br.com.infotech.myfinances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionReportDto {
+    private YearMonth from;
+    private YearMonth to;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private List<TransactionReportMonthDto> months;
+}
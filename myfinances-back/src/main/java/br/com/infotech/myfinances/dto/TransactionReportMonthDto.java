@@ -0,0 +1,21 @@
+package br.com.infotech.myfinances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionReportMonthDto {
+    private Integer year;
+    private Integer month;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private List<TransactionReportTypeDto> types;
+}
@@ -0,0 +1,23 @@
+package br.com.infotech.myfinances.dto;
+
+import br.com.infotech.myfinances.domain.TransactionTypeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionReportTypeDto {
+    private Integer year;
+    private Integer month;
+    private Long transactionTypeId;
+    private String description;
+    private TransactionTypeType type;
+    private BigDecimal completed;
+    private BigDecimal pending;
+}
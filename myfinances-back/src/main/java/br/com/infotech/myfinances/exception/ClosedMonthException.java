@@ -0,0 +1,7 @@
+package br.com.infotech.myfinances.exception;
+
+public class ClosedMonthException extends RuntimeException {
+    public ClosedMonthException(String message) {
+        super(message);
+    }
+}
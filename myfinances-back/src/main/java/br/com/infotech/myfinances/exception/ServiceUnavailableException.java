@@ -0,0 +1,7 @@
+package br.com.infotech.myfinances.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.infotech.myfinances.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,9 @@
 package br.com.infotech.myfinances.filter;
 
+import br.com.infotech.myfinances.cache.UserCache;
 import br.com.infotech.myfinances.context.UserContext;
 import br.com.infotech.myfinances.domain.User;
+import br.com.infotech.myfinances.domain.UserStatus;
 import br.com.infotech.myfinances.repository.UserRepository;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,25 +22,28 @@ import java.util.Optional;
 public class UserContextFilter extends OncePerRequestFilter {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         String userLogin = request.getHeader("X-User-Login");
-        log.info("Processing request: {} {}. User Login Header: {}", request.getMethod(), request.getRequestURI(),
+        log.debug("Processing request: {} {}. User Login Header: {}", request.getMethod(), request.getRequestURI(),
                 userLogin);
 
         if (userLogin != null && !userLogin.isBlank()) {
-            Optional<User> userOptional = userRepository.findByLogin(userLogin);
-            if (userOptional.isPresent()) {
-                UserContext.setCurrentUser(userOptional.get());
-                log.info("User context set for login: {}", userLogin);
+            Optional<User> userOptional = userCache.get(userLogin, userRepository::findByLogin);
+            if (userOptional.isPresent() && UserStatus.BLOCKED.equals(userOptional.get().getStatus())) {
+                log.warn("Blocked user for login: {}", userLogin);
+            } else if (userOptional.isPresent()) {
+                UserContext.setCurrentUser(request, userOptional.get());
+                log.debug("User context set for login: {}", userLogin);
             } else {
                 log.warn("User not found for login: {}", userLogin);
             }
         } else {
-            log.info("No X-User-Login header found");
+            log.debug("No X-User-Login header found");
         }
 
         try {
@@ -47,7 +52,7 @@ public class UserContextFilter extends OncePerRequestFilter {
             log.error("Error in filter chain", e);
             throw e;
         } finally {
-            UserContext.clear();
+            UserContext.clear(request);
         }
     }
 }
@@ -0,0 +1,37 @@
+package br.com.infotech.myfinances.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conta as instruções SQL preparadas pelo Hibernate durante a requisição atual.
+ * Registrado como {@code hibernate.session_factory.statement_inspector}; o
+ * contador é criado e lido pelo
+ * {@link br.com.infotech.myfinances.filter.RequestMetricsFilter}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final String ATTRIBUTE = SqlStatementCounter.class.getName() + ".COUNT";
+
+    @Override
+    public String inspect(String sql) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof AtomicInteger count) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static void start(HttpServletRequest request) {
+        request.setAttribute(ATTRIBUTE, new AtomicInteger());
+    }
+
+    public static int count(HttpServletRequest request) {
+        return request.getAttribute(ATTRIBUTE) instanceof AtomicInteger count ? count.get() : 0;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.infotech.myfinances.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Number of uses and most recent date of a description, as returned by
+ * {@link TransactionRepository#findDescriptionUsages(Long)}.
+ */
+public interface TransactionDescriptionUsage {
+    String getDescription();
+
+    Long getUses();
+
+    LocalDate getLastUsed();
+}
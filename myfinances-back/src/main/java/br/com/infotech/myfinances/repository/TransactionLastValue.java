@@ -0,0 +1,20 @@
+package br.com.infotech.myfinances.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Most recent positive amount of a (transaction type, description) pair, as
+ * returned by {@link TransactionRepository#findLastValues(Long)}.
+ */
+public interface TransactionLastValue {
+    Long getId();
+
+    Long getTransactionTypeId();
+
+    String getDescription();
+
+    BigDecimal getAmount();
+
+    LocalDate getTransactionDate();
+}
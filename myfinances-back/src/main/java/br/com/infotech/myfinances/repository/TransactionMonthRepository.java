@@ -2,12 +2,189 @@ package br.com.infotech.myfinances.repository;
 
 import br.com.infotech.myfinances.domain.TransactionMonth;
 import br.com.infotech.myfinances.domain.User;
+import br.com.infotech.myfinances.dto.TransactionMonthSummaryDto;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 @Repository
 public interface TransactionMonthRepository extends JpaRepository<TransactionMonth, Long> {
     Optional<TransactionMonth> findByUserAndMonthAndYear(User user, Integer month, Integer year);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM TransactionMonth m WHERE m.id = :id")
+    Optional<TransactionMonth> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Latest month of the user before the given one, held with a FOR SHARE lock
+     * until the surrounding transaction ends. A write to that month already in
+     * progress is waited for, so the closing balance read is the committed one;
+     * a later write waits for the caller to commit, so its balance propagation
+     * sees the month the caller created or switched to carry-over.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT m FROM TransactionMonth m WHERE m.user = :user " +
+            "AND (m.year < :year OR (m.year = :year AND m.month < :month)) " +
+            "ORDER BY m.year DESC, m.month DESC LIMIT 1")
+    Optional<TransactionMonth> findPreviousForShare(
+            @Param("user") User user,
+            @Param("month") Integer month,
+            @Param("year") Integer year);
+
+    @Query("SELECT m FROM TransactionMonth m WHERE m.user = :user " +
+            "AND (m.year > :year OR (m.year = :year AND m.month > :month)) " +
+            "ORDER BY m.year ASC, m.month ASC LIMIT 1")
+    Optional<TransactionMonth> findNext(
+            @Param("user") User user,
+            @Param("month") Integer month,
+            @Param("year") Integer year);
+
+    /**
+     * Inserts the month unless the user already has it, returning the new id.
+     * Returns nothing when another request created it first; if that request
+     * has not committed yet, the statement waits for it instead of failing on
+     * uk_transaction_month_user_month_year.
+     */
+    @Query(value = "INSERT INTO transaction_month (user_id, month, year, status, carry_over, " +
+            "initial_balance, closing_balance) " +
+            "VALUES (:userId, :month, :year, 'OPEN', :carryOver, :initialBalance, :initialBalance) " +
+            "ON CONFLICT ON CONSTRAINT uk_transaction_month_user_month_year DO NOTHING " +
+            "RETURNING CAST(id AS BIGINT)", nativeQuery = true)
+    Optional<Long> insertIfAbsent(
+            @Param("userId") Long userId,
+            @Param("month") Integer month,
+            @Param("year") Integer year,
+            @Param("carryOver") Boolean carryOver,
+            @Param("initialBalance") BigDecimal initialBalance);
+
+    String RETURNING_TOTALS = "RETURNING version, initial_balance AS initialBalance, " +
+            "income_completed AS incomeCompleted, income_pending AS incomePending, " +
+            "expense_completed AS expenseCompleted, expense_pending AS expensePending, " +
+            "closing_balance AS closingBalance";
+
+    /**
+     * Adds the given deltas to the month totals and closing balance and bumps the
+     * version. The row stays locked until the surrounding transaction ends, so
+     * writes to the same month are serialized. Returns null for a CLOSED month.
+     */
+    @Query(value = "UPDATE transaction_month SET " +
+            "income_completed = income_completed + :incomeCompleted, " +
+            "income_pending = income_pending + :incomePending, " +
+            "expense_completed = expense_completed + :expenseCompleted, " +
+            "expense_pending = expense_pending + :expensePending, " +
+            "closing_balance = closing_balance + :incomeCompleted + :incomePending " +
+            "- :expenseCompleted - :expensePending, " +
+            "version = version + 1 " +
+            "WHERE id = :id AND status <> 'CLOSED' " + RETURNING_TOTALS, nativeQuery = true)
+    TransactionMonthTotals applyDelta(
+            @Param("id") Long id,
+            @Param("incomeCompleted") BigDecimal incomeCompleted,
+            @Param("incomePending") BigDecimal incomePending,
+            @Param("expenseCompleted") BigDecimal expenseCompleted,
+            @Param("expensePending") BigDecimal expensePending);
+
+    /**
+     * Replaces the initial balance, shifting the closing balance by the difference.
+     */
+    @Query(value = "UPDATE transaction_month SET " +
+            "closing_balance = closing_balance + :initialBalance - initial_balance, " +
+            "initial_balance = :initialBalance, " +
+            "version = version + 1 " +
+            "WHERE id = :id " + RETURNING_TOTALS, nativeQuery = true)
+    TransactionMonthTotals updateInitialBalance(
+            @Param("id") Long id,
+            @Param("initialBalance") BigDecimal initialBalance);
+
+    /**
+     * Recomputes the month totals from its transaction rows, ignoring the stored columns.
+     */
+    @Query("SELECT new br.com.infotech.myfinances.dto.TransactionMonthSummaryDto(" +
+            "COALESCE(SUM(CASE WHEN tt.type = br.com.infotech.myfinances.domain.TransactionTypeType.INCOME " +
+            "AND t.status = br.com.infotech.myfinances.domain.TransactionStatus.COMPLETED THEN t.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN tt.type = br.com.infotech.myfinances.domain.TransactionTypeType.INCOME " +
+            "AND t.status = br.com.infotech.myfinances.domain.TransactionStatus.PENDING THEN t.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN tt.type = br.com.infotech.myfinances.domain.TransactionTypeType.EXPENSE " +
+            "AND t.status = br.com.infotech.myfinances.domain.TransactionStatus.COMPLETED THEN t.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN tt.type = br.com.infotech.myfinances.domain.TransactionTypeType.EXPENSE " +
+            "AND t.status = br.com.infotech.myfinances.domain.TransactionStatus.PENDING THEN t.amount ELSE 0 END), 0), " +
+            "m.initialBalance + COALESCE(SUM(CASE WHEN tt.type = br.com.infotech.myfinances.domain.TransactionTypeType.INCOME " +
+            "THEN t.amount ELSE -t.amount END), 0)) " +
+            "FROM TransactionMonth m " +
+            "LEFT JOIN Transaction t ON t.transactionMonth = m " +
+            "LEFT JOIN t.transactionType tt " +
+            "WHERE m.id = :id " +
+            "GROUP BY m.id, m.initialBalance")
+    TransactionMonthSummaryDto deriveSummary(@Param("id") Long id);
+
+    /**
+     * Turns carry-over on or off. When turned on, the initial balance is replaced
+     * by the given value (the previous month's closing balance), shifting the
+     * closing balance by the difference.
+     */
+    @Query(value = "UPDATE transaction_month SET " +
+            "closing_balance = closing_balance + :initialBalance - initial_balance, " +
+            "initial_balance = :initialBalance, " +
+            "carry_over = :carryOver, " +
+            "version = version + 1 " +
+            "WHERE id = :id " + RETURNING_TOTALS, nativeQuery = true)
+    TransactionMonthTotals updateCarryOver(
+            @Param("id") Long id,
+            @Param("carryOver") Boolean carryOver,
+            @Param("initialBalance") BigDecimal initialBalance);
+
+    /**
+     * Shifts the initial and closing balances of the carry-over months that
+     * follow the given position (year * 12 + month), up to the next month that
+     * does not carry over or is CLOSED, in a single statement.
+     */
+    @Modifying
+    @Query(value = "UPDATE transaction_month SET " +
+            "initial_balance = initial_balance + :delta, " +
+            "closing_balance = closing_balance + :delta, " +
+            "version = version + 1 " +
+            "WHERE user_id = :userId " +
+            "AND year * 12 + month > :position " +
+            "AND year * 12 + month < (" +
+            "SELECT COALESCE(MIN(a.year * 12 + a.month), 2147483647) FROM transaction_month a " +
+            "WHERE a.user_id = :userId AND a.year * 12 + a.month > :position " +
+            "AND (a.carry_over = false OR a.status = 'CLOSED'))",
+            nativeQuery = true)
+    int propagateBalance(
+            @Param("userId") Long userId,
+            @Param("position") Integer position,
+            @Param("delta") BigDecimal delta);
+
+    /**
+     * Id, version, status and snapshot of the month in a single read of
+     * uk_transaction_month_user_month_year.
+     */
+    @Query(value = "SELECT CAST(id AS BIGINT) AS id, version, status, snapshot FROM transaction_month " +
+            "WHERE user_id = :userId AND month = :month AND year = :year", nativeQuery = true)
+    Optional<TransactionMonthState> findState(
+            @Param("userId") Long userId,
+            @Param("month") Integer month,
+            @Param("year") Integer year);
+
+    /**
+     * Marks the month CLOSED, storing its snapshot and bumping the version.
+     */
+    @Modifying
+    @Query(value = "UPDATE transaction_month SET status = 'CLOSED', snapshot = :snapshot, version = version + 1 " +
+            "WHERE id = :id", nativeQuery = true)
+    int close(@Param("id") Long id, @Param("snapshot") String snapshot);
+
+    /**
+     * Marks the month OPEN again, discarding its snapshot and bumping the version.
+     */
+    @Modifying
+    @Query(value = "UPDATE transaction_month SET status = 'OPEN', snapshot = NULL, version = version + 1 " +
+            "WHERE id = :id", nativeQuery = true)
+    int reopen(@Param("id") Long id);
 }
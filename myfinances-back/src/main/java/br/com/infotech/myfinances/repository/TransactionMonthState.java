@@ -0,0 +1,15 @@
+package br.com.infotech.myfinances.repository;
+
+/**
+ * Id, version, status and snapshot of a month, as returned by
+ * {@link TransactionMonthRepository#findState(Long, Integer, Integer)}.
+ */
+public interface TransactionMonthState {
+    Long getId();
+
+    Long getVersion();
+
+    String getStatus();
+
+    String getSnapshot();
+}
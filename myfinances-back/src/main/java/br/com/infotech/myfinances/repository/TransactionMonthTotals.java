@@ -0,0 +1,23 @@
+package br.com.infotech.myfinances.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Balance, totals and version of a month as returned by the
+ * {@link TransactionMonthRepository} update statements.
+ */
+public interface TransactionMonthTotals {
+    Long getVersion();
+
+    BigDecimal getInitialBalance();
+
+    BigDecimal getIncomeCompleted();
+
+    BigDecimal getIncomePending();
+
+    BigDecimal getExpenseCompleted();
+
+    BigDecimal getExpensePending();
+
+    BigDecimal getClosingBalance();
+}
@@ -2,22 +2,123 @@ package br.com.infotech.myfinances.repository;
 
 import br.com.infotech.myfinances.domain.Transaction;
 
-import br.com.infotech.myfinances.domain.TransactionMonth;
 import br.com.infotech.myfinances.domain.TransactionType;
 import br.com.infotech.myfinances.domain.User;
-import java.util.Optional;
+import br.com.infotech.myfinances.dto.TransactionDto;
+import br.com.infotech.myfinances.dto.TransactionReportTypeDto;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    List<Transaction> findByTransactionMonthOrderByTransactionDateAsc(TransactionMonth transactionMonth);
+    /**
+     * Locks the row until the surrounding transaction ends, so concurrent edits
+     * and deletes of the same transaction compute their deltas one after the
+     * other from its latest amount and status.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id = :id")
+    Optional<Transaction> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Reads the rows of a month straight into DTOs, in a single statement and
+     * without hydrating the entities and their eager associations. Only the
+     * transaction table is read: the type is left null and rows are ordered by
+     * date, then id; the caller fills the type from the cached types of the user
+     * and moves INCOME ahead within each date.
+     */
+    @Query("SELECT new br.com.infotech.myfinances.dto.TransactionDto(" +
+            "t.id, EXTRACT(DAY FROM t.transactionDate), t.transactionType.id, NULL, t.description, t.amount, " +
+            "t.status, t.remark) " +
+            "FROM Transaction t " +
+            "WHERE t.transactionMonth.id = :monthId " +
+            "ORDER BY t.transactionDate ASC, t.id ASC")
+    List<TransactionDto> findRowsByTransactionMonthId(@Param("monthId") Long monthId);
+
+    /**
+     * Most recent positive amount of the type (with the description, when given),
+     * without loading the entity and its eager associations. Use {@code Limit.of(1)}.
+     */
+    @Query("SELECT t.amount FROM Transaction t " +
+            "WHERE t.user = :user AND t.transactionType = :type AND t.amount > 0 " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<BigDecimal> findLastAmounts(@Param("user") User user, @Param("type") TransactionType type, Limit limit);
+
+    @Query("SELECT t.amount FROM Transaction t " +
+            "WHERE t.user = :user AND t.transactionType = :type AND t.description = :description AND t.amount > 0 " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<BigDecimal> findLastAmounts(@Param("user") User user, @Param("type") TransactionType type,
+            @Param("description") String description, Limit limit);
+
+    /**
+     * Most recent positive amount of every (type, description) pair of the user in
+     * a single pass over idx_transaction_last_value.
+     */
+    @Query(value = "SELECT DISTINCT ON (transaction_type_id, description) id, " +
+            "transaction_type_id AS transactionTypeId, description, amount, transaction_date AS transactionDate " +
+            "FROM transaction " +
+            "WHERE user_id = :userId AND amount > 0 " +
+            "ORDER BY transaction_type_id, description, transaction_date DESC, id DESC", nativeQuery = true)
+    List<TransactionLastValue> findLastValues(@Param("userId") Long userId);
+
+    /**
+     * Uses and last date of every non-empty description of the user, loaded once
+     * per user to build the autocomplete index.
+     */
+    @Query(value = "SELECT description, count(*) AS uses, max(transaction_date) AS lastUsed " +
+            "FROM transaction " +
+            "WHERE user_id = :userId AND description <> '' " +
+            "GROUP BY description", nativeQuery = true)
+    List<TransactionDescriptionUsage> findDescriptionUsages(@Param("userId") Long userId);
 
-    Optional<Transaction> findFirstByUserAndTransactionTypeAndAmountGreaterThanOrderByTransactionDateDesc(User user,
-            TransactionType transactionType, java.math.BigDecimal amount);
+    /**
+     * Generates the PENDING rows of every active recurring type of the user in a
+     * single INSERT ... SELECT. The default day is capped to the last day of the month.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transaction (user_id, transaction_type_id, transaction_month_id, transaction_date, " +
+            "description, amount, status, created_at) " +
+            "SELECT t.user_id, t.id, :monthId, make_date(:year, :month, LEAST(COALESCE(t.default_day, 1), :lastDay)), " +
+            "'', 0, 'PENDING', LOCALTIMESTAMP " +
+            "FROM transaction_type t " +
+            "WHERE t.user_id = :userId AND t.recurring = true AND t.status = 'ACTIVE'", nativeQuery = true)
+    int insertRecurringTransactions(
+            @Param("userId") Long userId,
+            @Param("monthId") Long monthId,
+            @Param("year") Integer year,
+            @Param("month") Integer month,
+            @Param("lastDay") Integer lastDay);
 
-    Optional<Transaction> findFirstByUserAndTransactionTypeAndDescriptionAndAmountGreaterThanOrderByTransactionDateDesc(
-            User user, TransactionType transactionType, String description, java.math.BigDecimal amount);
+    /**
+     * Totals per month and transaction type for the user's transactions dated in
+     * [from, to), grouped in the database. Served by idx_transaction_user_date.
+     */
+    @Query("SELECT new br.com.infotech.myfinances.dto.TransactionReportTypeDto(" +
+            "EXTRACT(YEAR FROM t.transactionDate), EXTRACT(MONTH FROM t.transactionDate), " +
+            "tt.id, tt.description, tt.type, " +
+            "COALESCE(SUM(CASE WHEN t.status = br.com.infotech.myfinances.domain.TransactionStatus.COMPLETED " +
+            "THEN t.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.status = br.com.infotech.myfinances.domain.TransactionStatus.PENDING " +
+            "THEN t.amount ELSE 0 END), 0)) " +
+            "FROM Transaction t JOIN t.transactionType tt " +
+            "WHERE t.user = :user AND t.transactionDate >= :from AND t.transactionDate < :to " +
+            "GROUP BY EXTRACT(YEAR FROM t.transactionDate), EXTRACT(MONTH FROM t.transactionDate), " +
+            "tt.id, tt.description, tt.type " +
+            "ORDER BY EXTRACT(YEAR FROM t.transactionDate), EXTRACT(MONTH FROM t.transactionDate), " +
+            "tt.type, tt.description")
+    List<TransactionReportTypeDto> sumByMonthAndType(
+            @Param("user") User user,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
 }
@@ -16,6 +16,10 @@ import java.util.List;
 @Repository
 public interface TransactionTypeRepository extends JpaRepository<TransactionType, Long> {
 
+        /**
+         * Search in the database; only used for sorts the in-memory type index does
+         * not support.
+         */
         @Query("SELECT t FROM TransactionType t WHERE " +
                         "t.user = :user AND " +
                         "t.status = :status AND " +
@@ -28,4 +32,9 @@ public interface TransactionTypeRepository extends JpaRepository<TransactionType
                         @Param("description") String description,
                         @Param("types") List<TransactionTypeType> types,
                         Pageable pageable);
+
+        /**
+         * Every type of the user, of any status; loads the per-user type cache.
+         */
+        List<TransactionType> findByUserId(Long userId);
 }
@@ -0,0 +1,137 @@
+package br.com.infotech.myfinances.security;
+
+import br.com.infotech.myfinances.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita as tentativas de login por login e por IP com token buckets mantidos
+ * em memória. Os buckets ficam em um cache com expiração e tamanho máximo, para
+ * que uma enxurrada de logins aleatórios não aumente o uso de memória.
+ */
+@Component
+@Slf4j
+public class LoginRateLimiter {
+
+    private static final String TOO_MANY_ATTEMPTS_MSG = "Muitas tentativas de login, tente novamente mais tarde";
+
+    private final Limit loginLimit;
+    private final Limit ipLimit;
+    private final Cache<String, TokenBucket> loginBuckets;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final LongAdder rejectedByLogin = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+
+    public LoginRateLimiter(
+            @Value("${myfinances.login-rate-limit.login.capacity:5}") int loginCapacity,
+            @Value("${myfinances.login-rate-limit.login.refill-period:1m}") Duration loginRefillPeriod,
+            @Value("${myfinances.login-rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${myfinances.login-rate-limit.ip.refill-period:3s}") Duration ipRefillPeriod,
+            @Value("${myfinances.login-rate-limit.max-size:100000}") long maxSize) {
+        this.loginLimit = new Limit(loginCapacity, loginRefillPeriod);
+        this.ipLimit = new Limit(ipCapacity, ipRefillPeriod);
+        this.loginBuckets = buckets(loginLimit, maxSize);
+        this.ipBuckets = buckets(ipLimit, maxSize);
+    }
+
+    /**
+     * Consome uma tentativa do IP e do login informados.
+     *
+     * @param login    O login informado na tentativa.
+     * @param clientIp O IP de origem da requisição.
+     * @throws TooManyRequestsException se o IP ou o login excederam o limite.
+     */
+    public void acquire(String login, String clientIp) {
+        if (clientIp != null && !ipBuckets.get(clientIp, k -> new TokenBucket(ipLimit)).tryConsume()) {
+            rejectedByIp.increment();
+            log.warn("Login rate limit exceeded for IP: {}", clientIp);
+            throw new TooManyRequestsException(TOO_MANY_ATTEMPTS_MSG);
+        }
+        if (login != null && !login.isBlank()) {
+            String key = login.trim().toLowerCase(Locale.ROOT);
+            if (!loginBuckets.get(key, k -> new TokenBucket(loginLimit)).tryConsume()) {
+                rejectedByLogin.increment();
+                log.warn("Login rate limit exceeded for login: {}", key);
+                throw new TooManyRequestsException(TOO_MANY_ATTEMPTS_MSG);
+            }
+        }
+    }
+
+    public LoginRateLimiterStats stats() {
+        return new LoginRateLimiterStats(rejectedByLogin.sum(), rejectedByIp.sum(),
+                loginBuckets.estimatedSize(), ipBuckets.estimatedSize());
+    }
+
+    private static Cache<String, TokenBucket> buckets(Limit limit, long maxSize) {
+        // An idle bucket is full again after capacity * refillPeriod, so it can be dropped
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(limit.refillPeriod().multipliedBy(limit.capacity()))
+                .build();
+    }
+
+    /**
+     * Contadores do limitador de login.
+     *
+     * @param rejectedByLogin Tentativas recusadas pelo limite por login.
+     * @param rejectedByIp    Tentativas recusadas pelo limite por IP.
+     * @param logins          Quantidade aproximada de logins monitorados.
+     * @param ips             Quantidade aproximada de IPs monitorados.
+     */
+    public record LoginRateLimiterStats(long rejectedByLogin, long rejectedByIp, long logins, long ips) {
+    }
+
+    private record Limit(int capacity, Duration refillPeriod) {
+    }
+
+    /**
+     * Token bucket updated with compare-and-set on an immutable state, so
+     * concurrent attempts never block each other.
+     */
+    static final class TokenBucket {
+        private final long capacity;
+        private final long nanosPerToken;
+        private final AtomicReference<State> state;
+
+        private TokenBucket(Limit limit) {
+            this(limit.capacity(), limit.refillPeriod(), System.nanoTime());
+        }
+
+        TokenBucket(long capacity, Duration refillPeriod, long now) {
+            this.capacity = capacity;
+            this.nanosPerToken = refillPeriod.toNanos();
+            this.state = new AtomicReference<>(new State(capacity, now));
+        }
+
+        boolean tryConsume() {
+            return tryConsume(System.nanoTime());
+        }
+
+        boolean tryConsume(long now) {
+            while (true) {
+                State current = state.get();
+                long refilled = (now - current.updatedAt()) / nanosPerToken;
+                long tokens = Math.min(capacity, current.tokens() + refilled);
+                if (tokens == 0) {
+                    return false;
+                }
+                // Only whole tokens are credited; the remainder keeps accruing from the old timestamp
+                long updatedAt = tokens == capacity ? now : current.updatedAt() + refilled * nanosPerToken;
+                if (state.compareAndSet(current, new State(tokens - 1, updatedAt))) {
+                    return true;
+                }
+            }
+        }
+
+        private record State(long tokens, long updatedAt) {
+        }
+    }
+}
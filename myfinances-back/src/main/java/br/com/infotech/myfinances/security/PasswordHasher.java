@@ -0,0 +1,137 @@
+package br.com.infotech.myfinances.security;
+
+import br.com.infotech.myfinances.exception.ServiceUnavailableException;
+import br.com.infotech.myfinances.util.CryptUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gera e verifica hashes de senha (PBKDF2) em um executor dedicado e limitado,
+ * para que um pico de logins não ocupe as threads de requisição. Quando a fila
+ * está cheia ou a espera excede o limite, a operação é recusada com
+ * {@link ServiceUnavailableException}.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private static final String UNAVAILABLE_MSG = "Serviço de autenticação ocupado, tente novamente";
+
+    private final int iterations;
+    // Verified against when the login does not exist, so the answer takes as long
+    private final String unknownUserHash;
+    private final Duration timeout;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHasher(
+            @Value("${myfinances.password.iterations:310000}") int iterations,
+            @Value("${myfinances.password.threads:0}") int threads,
+            @Value("${myfinances.password.queue-capacity:32}") int queueCapacity,
+            @Value("${myfinances.password.timeout:5s}") Duration timeout,
+            @Value("${myfinances.password.calibration-target:#{null}}") Duration calibrationTarget) {
+        int poolSize = threads > 0 ? threads : Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger counter = new AtomicInteger();
+
+        this.iterations = iterations;
+        this.unknownUserHash = CryptUtils.hashPassword("unknown-user", iterations);
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "password-hasher-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        if (calibrationTarget != null) {
+            log.info("PBKDF2 calibration: {} iterations for {} per verification (configured: {})",
+                    CryptUtils.calibrateIterations(calibrationTarget), calibrationTarget, iterations);
+        }
+    }
+
+    /**
+     * Gera o hash da senha com o fator de trabalho configurado.
+     *
+     * @param password A senha.
+     * @return O hash da senha.
+     */
+    public String hash(String password) {
+        return run(() -> CryptUtils.hashPassword(password, iterations));
+    }
+
+    /**
+     * Verifica a senha contra o hash armazenado (PBKDF2 ou SHA-256 antigo).
+     *
+     * @param password   A senha informada.
+     * @param storedHash O hash armazenado.
+     * @return true se a senha corresponder ao hash.
+     */
+    public boolean verify(String password, String storedHash) {
+        return run(() -> CryptUtils.verifyPassword(password, storedHash));
+    }
+
+    /**
+     * Executa uma verificação com o mesmo custo de {@link #verify} contra um hash
+     * fixo, para que o tempo de resposta de um login inexistente não o revele.
+     *
+     * @param password A senha informada.
+     */
+    public void verifyUnknownUser(String password) {
+        run(() -> CryptUtils.verifyPassword(password, unknownUserHash));
+    }
+
+    /**
+     * Indica se o hash deve ser regerado com o fator de trabalho atual.
+     *
+     * @param storedHash O hash armazenado.
+     * @return true se o hash estiver desatualizado.
+     */
+    public boolean needsUpgrade(String storedHash) {
+        return CryptUtils.needsRehash(storedHash, iterations);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue full, rejecting request");
+            throw new ServiceUnavailableException(UNAVAILABLE_MSG);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Password hashing timed out after {}", timeout);
+            throw new ServiceUnavailableException(UNAVAILABLE_MSG);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(UNAVAILABLE_MSG);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package br.com.infotech.myfinances.service;
+
+import br.com.infotech.myfinances.domain.User;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Exporta todas as transações do usuário, lidas com um cursor do banco e
+ * escritas diretamente na resposta, sem carregar o histórico em memória.
+ */
+@Service
+@Timed("myfinances.service")
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportService {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String EXPORT_SQL = "SELECT t.id, t.transaction_date, tt.description AS type_description, " +
+            "tt.type, t.description, t.amount, t.status, t.remark " +
+            "FROM transaction t JOIN transaction_type tt ON tt.id = t.transaction_type_id " +
+            "WHERE t.user_id = ? " +
+            "ORDER BY t.transaction_date, t.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final UserService userService;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Prepara a exportação das transações do usuário atual. O usuário é resolvido
+     * aqui, na thread da requisição; a consulta só é executada quando o corpo da
+     * resposta é escrito.
+     *
+     * @param format O formato de saída.
+     * @return O corpo da resposta.
+     */
+    public StreamingResponseBody export(Format format) {
+        User currentUser = userService.getCurrentUser();
+        Long userId = currentUser.getId();
+
+        return out -> {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            // PostgreSQL only honours the fetch size inside a transaction
+            transactionTemplate.setReadOnly(true);
+            try {
+                long rows = transactionTemplate.execute(status -> write(userId, format, out));
+                log.debug("Exported {} transactions of user {} as {}", rows, userId, format);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private long write(Long userId, Format format, OutputStream out) {
+        try {
+            RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+            long[] count = { 0 };
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setLong(1, userId);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(rs);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.close();
+            return count[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void close() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write("id;data;tipo;natureza;descricao;valor;status;observacao\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(';');
+            writer.write(rs.getDate("transaction_date").toLocalDate().toString());
+            writer.write(';');
+            writer.write(escape(rs.getString("type_description")));
+            writer.write(';');
+            writer.write(rs.getString("type"));
+            writer.write(';');
+            writer.write(escape(rs.getString("description")));
+            writer.write(';');
+            writer.write(rs.getBigDecimal("amount").toPlainString());
+            writer.write(';');
+            writer.write(rs.getString("status"));
+            writer.write(';');
+            writer.write(escape(rs.getString("remark")));
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            // Records are separated by the explicit newline only
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("date", rs.getDate("transaction_date").toLocalDate().toString());
+            generator.writeStringField("transactionType", rs.getString("type_description"));
+            generator.writeStringField("type", rs.getString("type"));
+            generator.writeStringField("description", rs.getString("description"));
+            generator.writeNumberField("amount", rs.getBigDecimal("amount"));
+            generator.writeStringField("status", rs.getString("status"));
+            generator.writeStringField("remark", rs.getString("remark"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package br.com.infotech.myfinances.service;
+
+import br.com.infotech.myfinances.cache.DescriptionCache;
+import br.com.infotech.myfinances.cache.TransactionTypeCache;
+import br.com.infotech.myfinances.domain.TransactionMonth;
+import br.com.infotech.myfinances.domain.TransactionType;
+import br.com.infotech.myfinances.domain.TransactionTypeStatus;
+import br.com.infotech.myfinances.domain.TransactionTypeType;
+import br.com.infotech.myfinances.dto.TransactionImportDto;
+import br.com.infotech.myfinances.repository.TransactionMonthRepository;
+import br.com.infotech.myfinances.repository.TransactionTypeRepository;
+import br.com.infotech.myfinances.statement.StatementFormat;
+import br.com.infotech.myfinances.statement.StatementLine;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Importa extratos bancários para um mês, gravando os lançamentos em lotes
+ * dentro de uma única transação.
+ */
+@Service
+@Timed("myfinances.service")
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED = 20;
+    private static final int DESCRIPTION_LENGTH = 50;
+    // transaction.amount is DECIMAL(10,2)
+    private static final int AMOUNT_SCALE = 2;
+
+    private static final String INSERT_SQL = "INSERT INTO transaction (user_id, transaction_type_id, " +
+            "transaction_month_id, transaction_date, description, amount, status, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 'COMPLETED', LOCALTIMESTAMP)";
+
+    private final TransactionMonthRepository transactionMonthRepository;
+    private final TransactionTypeRepository transactionTypeRepository;
+    private final TransactionMonthService transactionMonthService;
+    private final TransactionTypeCache transactionTypeCache;
+    private final DescriptionCache descriptionCache;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Importa o extrato para o mês informado como transações realizadas.
+     * <p>
+     * Cada lançamento recebe o Tipo de Transação ativo cuja descrição está contida
+     * no histórico (a mais longa vence), respeitando débito como despesa e crédito
+     * como receita. Sem correspondência, usa o tipo padrão informado, se houver;
+     * caso contrário o lançamento é ignorado. Lançamentos fora do mês também são
+     * ignorados. Os valores são arredondados para centavos (meio para o par) e os
+     * históricos longos são cortados em 50 caracteres.
+     *
+     * @param monthId       O id do mês.
+     * @param format        O formato do extrato.
+     * @param content       O conteúdo do extrato.
+     * @param charset       A codificação do arquivo.
+     * @param expenseTypeId Tipo padrão para débitos sem correspondência (opcional).
+     * @param incomeTypeId  Tipo padrão para créditos sem correspondência (opcional).
+     * @return O resumo da importação e os novos totais do mês.
+     */
+    @Transactional
+    public TransactionImportDto importStatement(Long monthId, StatementFormat format, InputStream content,
+            Charset charset, Long expenseTypeId, Long incomeTypeId) throws IOException {
+        TransactionMonth month = transactionMonthRepository.findById(monthId)
+                .orElseThrow(() -> new RuntimeException("Mês não encontrado"));
+        TransactionMonthService.requireOpen(month);
+
+        List<TransactionType> types = transactionTypeCache
+                .get(month.getUser().getId(), transactionTypeRepository::findByUserId).values().stream()
+                .filter(t -> t.getStatus() == TransactionTypeStatus.ACTIVE)
+                .sorted(Comparator.comparingInt((TransactionType t) -> t.getDescription().length()).reversed()
+                        .thenComparing(TransactionType::getId))
+                .toList();
+        TransactionType defaultExpense = findDefault(types, expenseTypeId, TransactionTypeType.EXPENSE);
+        TransactionType defaultIncome = findDefault(types, incomeTypeId, TransactionTypeType.INCOME);
+
+        Batch batch = new Batch(month);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(content, charset))) {
+            format.parser().parse(reader, line -> {
+                // Rounded once, so the stored rows and the month totals use the same amount
+                BigDecimal amount = line.amount().setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN);
+                if (!YearMonth.from(line.date()).equals(YearMonth.of(month.getYear(), month.getMonth()))
+                        || amount.signum() == 0) {
+                    batch.skip(null);
+                    return;
+                }
+                TransactionTypeType kind = amount.signum() < 0
+                        ? TransactionTypeType.EXPENSE
+                        : TransactionTypeType.INCOME;
+                TransactionType type = match(types, line.description(), kind);
+                if (type == null) {
+                    type = kind == TransactionTypeType.EXPENSE ? defaultExpense : defaultIncome;
+                }
+                if (type == null) {
+                    batch.skip(line.description());
+                    return;
+                }
+                batch.add(line, amount.abs(), type);
+            });
+        }
+        batch.flush();
+        if (batch.imported > 0) {
+            // Rows written outside JPA: reload the autocomplete index instead of
+            // applying them one by one
+            descriptionCache.evict(month.getUser().getId());
+        }
+
+        transactionMonthService.applyImportedTotals(month, batch.income, batch.expense);
+        log.debug("Imported {} statement lines into month {} ({} skipped)", batch.imported, monthId, batch.skipped);
+
+        return TransactionImportDto.builder()
+                .monthId(month.getId())
+                .version(month.getVersion())
+                .imported(batch.imported)
+                .skipped(batch.skipped)
+                .unmatched(batch.unmatched)
+                .truncated(batch.truncated)
+                .summary(transactionMonthService.toSummaryDto(month))
+                .build();
+    }
+
+    private static TransactionType findDefault(List<TransactionType> types, Long id, TransactionTypeType kind) {
+        if (id == null) {
+            return null;
+        }
+        return types.stream()
+                .filter(t -> t.getId().equals(id) && t.getType() == kind)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Tipo de Transação padrão inválido"));
+    }
+
+    private static TransactionType match(List<TransactionType> types, String description, TransactionTypeType kind) {
+        String text = description.toLowerCase(Locale.ROOT);
+        for (TransactionType type : types) {
+            if (type.getType() == kind && text.contains(type.getDescription().toLowerCase(Locale.ROOT))) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rows waiting to be written plus the running totals of the import. Only one
+     * batch of rows is held in memory at a time.
+     */
+    private final class Batch {
+        private final TransactionMonth month;
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        private final List<String> unmatched = new ArrayList<>();
+        private final List<String> truncated = new ArrayList<>();
+        private BigDecimal income = BigDecimal.ZERO;
+        private BigDecimal expense = BigDecimal.ZERO;
+        private int imported;
+        private int skipped;
+
+        private Batch(TransactionMonth month) {
+            this.month = month;
+        }
+
+        void add(StatementLine line, BigDecimal amount, TransactionType type) {
+            String description = line.description();
+            if (description.length() > DESCRIPTION_LENGTH) {
+                report(truncated, description);
+                description = description.substring(0, DESCRIPTION_LENGTH);
+            }
+
+            rows.add(new Object[] { month.getUser().getId(), type.getId(), month.getId(),
+                    Date.valueOf(line.date()), description, amount });
+            if (type.getType() == TransactionTypeType.INCOME) {
+                income = income.add(amount);
+            } else {
+                expense = expense.add(amount);
+            }
+            imported++;
+            if (rows.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void skip(String description) {
+            skipped++;
+            if (description != null) {
+                report(unmatched, description);
+            }
+        }
+
+        private static void report(List<String> descriptions, String description) {
+            if (descriptions.size() < MAX_REPORTED && !descriptions.contains(description)) {
+                descriptions.add(description);
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                rows.clear();
+            }
+        }
+    }
+}
@@ -1,32 +1,71 @@
 package br.com.infotech.myfinances.service;
 
+import br.com.infotech.myfinances.cache.DescriptionCache;
+import br.com.infotech.myfinances.cache.DescriptionIndex;
+import br.com.infotech.myfinances.cache.LastValueCache;
+import br.com.infotech.myfinances.cache.TransactionTypeCache;
 import br.com.infotech.myfinances.domain.*;
+import br.com.infotech.myfinances.dto.TransactionDeltaDto;
 import br.com.infotech.myfinances.dto.TransactionDto;
+import br.com.infotech.myfinances.dto.TransactionLastValueDto;
 import br.com.infotech.myfinances.dto.TransactionMonthDto;
+import br.com.infotech.myfinances.dto.TransactionMonthStateDto;
+import br.com.infotech.myfinances.dto.TransactionMonthSummaryCheckDto;
+import br.com.infotech.myfinances.dto.TransactionMonthSummaryDto;
+import br.com.infotech.myfinances.dto.TransactionReportDto;
+import br.com.infotech.myfinances.dto.TransactionReportMonthDto;
+import br.com.infotech.myfinances.dto.TransactionReportTypeDto;
+import br.com.infotech.myfinances.exception.ClosedMonthException;
+import br.com.infotech.myfinances.repository.TransactionLastValue;
 import br.com.infotech.myfinances.repository.TransactionMonthRepository;
+import br.com.infotech.myfinances.repository.TransactionMonthTotals;
 import br.com.infotech.myfinances.repository.TransactionRepository;
 import br.com.infotech.myfinances.repository.TransactionTypeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
-import br.com.infotech.myfinances.domain.TransactionTypeType;
-
 @Service
+@Timed("myfinances.service")
 @RequiredArgsConstructor
+@Slf4j
 public class TransactionMonthService {
 
+        private static final int MAX_SUGGESTIONS = 50;
+
+        static final String OPEN = "OPEN";
+        static final String CLOSED = "CLOSED";
+        private static final String CLOSED_MONTH_MESSAGE = "O mês está fechado. Reabra o mês para alterá-lo.";
+
+        private static final Comparator<TransactionLastValue> LAST_VALUE_ORDER = Comparator
+                        .comparing(TransactionLastValue::getTransactionDate)
+                        .thenComparing(TransactionLastValue::getId);
+
         private final TransactionMonthRepository transactionMonthRepository;
         private final TransactionRepository transactionRepository;
         private final TransactionTypeRepository transactionTypeRepository;
         private final UserService userService;
+        private final LastValueCache lastValueCache;
+        private final TransactionTypeCache transactionTypeCache;
+        private final DescriptionCache descriptionCache;
+        private final ObjectMapper objectMapper;
 
         @Transactional
         public TransactionMonthDto getOrCreateMonth(Integer month, Integer year) {
@@ -37,71 +76,254 @@ public class TransactionMonthService {
                                 .orElseGet(() -> createMonth(currentUser, month, year));
         }
 
-        private TransactionMonthDto createMonth(User user, Integer month, Integer year) {
-                TransactionMonth newMonth = TransactionMonth.builder()
-                                .user(user)
-                                .month(month)
-                                .year(year)
-                                .status("OPEN")
-                                .initialBalance(BigDecimal.ZERO)
-                                .build();
+        /**
+         * Reads only the month row (no transactions) so callers can validate
+         * cached copies against its version.
+         */
+        @Transactional(readOnly = true)
+        public Optional<TransactionMonthDto> findMonthHeader(Integer month, Integer year) {
+                User currentUser = userService.getCurrentUser();
+
+                return transactionMonthRepository.findByUserAndMonthAndYear(currentUser, month, year)
+                                .map(this::toHeaderDto);
+        }
 
-                TransactionMonth savedMonth = transactionMonthRepository.save(newMonth);
+        /**
+         * Id, version, status and, for CLOSED months, the stored snapshot, in a
+         * single indexed read. The snapshot is the serialized {@link TransactionMonthDto}.
+         */
+        @Transactional(readOnly = true)
+        public Optional<TransactionMonthStateDto> findMonthState(Integer month, Integer year) {
+                User currentUser = userService.getCurrentUser();
 
-                // Auto-generate recurring transactions
-                List<TransactionType> recurringTypes = transactionTypeRepository.findAll().stream()
-                                .filter(t -> t.getUser().getId().equals(user.getId())
-                                                && Boolean.TRUE.equals(t.getRecurring())
-                                                && t.getStatus() == TransactionTypeStatus.ACTIVE)
-                                .collect(Collectors.toList());
+                return transactionMonthRepository.findState(currentUser.getId(), month, year)
+                                .map(s -> TransactionMonthStateDto.builder()
+                                                .id(s.getId())
+                                                .version(s.getVersion())
+                                                .status(s.getStatus())
+                                                .snapshot(s.getSnapshot())
+                                                .build());
+        }
 
-                List<Transaction> initialTransactions = new ArrayList<>();
-                for (TransactionType type : recurringTypes) {
+        /**
+         * Freezes the month: its transactions and totals are serialized into the
+         * snapshot served by {@link #findMonthState}, and writes are rejected with
+         * {@link ClosedMonthException} until it is reopened. A CLOSED month also
+         * stops the propagation of balance changes along the carry-over chain.
+         */
+        @Transactional
+        public TransactionMonthDto closeMonth(Long id) {
+                TransactionMonth transactionMonth = transactionMonthRepository.findByIdForUpdate(id)
+                                .orElseThrow(() -> new RuntimeException("Mês não encontrado"));
+                if (CLOSED.equals(transactionMonth.getStatus())) {
+                        throw new ClosedMonthException("O mês já está fechado.");
+                }
 
-                        // Logic for Recurring Date
-                        // Default to type's default day, or 1 if not set
-                        int dayToUse = type.getDefaultDay() != null ? type.getDefaultDay() : 1;
+                // The row is locked, so the version written by close is known in advance
+                TransactionMonthDto dto = toDto(transactionMonth);
+                dto.setStatus(CLOSED);
+                dto.setVersion(transactionMonth.getVersion() + 1);
+                String snapshot;
+                try {
+                        snapshot = objectMapper.writeValueAsString(dto);
+                } catch (JsonProcessingException e) {
+                        throw new UncheckedIOException(e);
+                }
 
-                        // Ensure day is valid for this month
-                        int maxDayInNewMonth = LocalDate.of(year, month, 1).lengthOfMonth();
-                        if (dayToUse > maxDayInNewMonth) {
-                                dayToUse = maxDayInNewMonth;
-                        }
+                transactionMonthRepository.close(id, snapshot);
+                log.debug("Closed month {} ({} bytes of snapshot)", id, snapshot.length());
+                return dto;
+        }
 
-                        Transaction transaction = Transaction.builder()
-                                        .user(user)
-                                        .transactionType(type)
-                                        .transactionMonth(savedMonth)
-                                        .transactionDate(LocalDate.of(year, month, dayToUse))
-                                        .description("")
-                                        .amount(BigDecimal.ZERO)
-                                        .status(TransactionStatus.PENDING)
-                                        .createdAt(java.time.LocalDateTime.now())
-                                        .build();
-                        initialTransactions.add(transactionRepository.save(transaction));
+        /**
+         * Reopens a CLOSED month, discarding its snapshot. A carry-over month takes
+         * the current closing balance of the previous month again, as changes made
+         * while it was closed did not reach it.
+         */
+        @Transactional
+        public TransactionMonthDto reopenMonth(Long id) {
+                TransactionMonth transactionMonth = transactionMonthRepository.findByIdForUpdate(id)
+                                .orElseThrow(() -> new RuntimeException("Mês não encontrado"));
+                if (!CLOSED.equals(transactionMonth.getStatus())) {
+                        throw new IllegalArgumentException("O mês não está fechado.");
+                }
+
+                transactionMonthRepository.reopen(id);
+                transactionMonth.setVersion(transactionMonth.getVersion() + 1);
+                if (Boolean.TRUE.equals(transactionMonth.getCarryOver())) {
+                        BigDecimal previousClosingBalance = transactionMonth.getClosingBalance();
+                        BigDecimal initialBalance = transactionMonthRepository
+                                        .findPreviousForShare(transactionMonth.getUser(), transactionMonth.getMonth(),
+                                                        transactionMonth.getYear())
+                                        .map(TransactionMonth::getClosingBalance)
+                                        .orElse(transactionMonth.getInitialBalance());
+                        applyTotals(transactionMonth, transactionMonthRepository.updateCarryOver(id, true, initialBalance));
+                        propagateBalance(transactionMonth,
+                                        transactionMonth.getClosingBalance().subtract(previousClosingBalance));
+                }
+
+                TransactionMonthDto dto = toDto(transactionMonth);
+                dto.setStatus(OPEN);
+                return dto;
+        }
+
+        private TransactionMonthDto createMonth(User user, Integer month, Integer year) {
+                // Carry-over is inherited from the previous month. A month created in
+                // front of a carry-over month takes its initial balance, keeping the chain intact.
+                // The previous month stays locked until commit, so its closing balance cannot
+                // change before the new month is visible to the propagation of that change.
+                Optional<TransactionMonth> previous = transactionMonthRepository.findPreviousForShare(user, month,
+                                year);
+                Optional<TransactionMonth> next = transactionMonthRepository.findNext(user, month, year)
+                                .filter(TransactionMonth::getCarryOver);
+                boolean carryOver = previous.isPresent() && (previous.get().getCarryOver() || next.isPresent());
+                BigDecimal initialBalance = carryOver
+                                ? previous.get().getClosingBalance()
+                                : next.map(TransactionMonth::getInitialBalance).orElse(BigDecimal.ZERO);
+
+                // Only the request that wins the insert generates the recurring rows; the
+                // others wait for it to commit and read the month it created.
+                Optional<Long> createdId = transactionMonthRepository.insertIfAbsent(user.getId(), month, year,
+                                carryOver, initialBalance);
+                if (createdId.isEmpty()) {
+                        log.debug("Month {}/{} of user {} created concurrently", month, year, user.getId());
+                        return transactionMonthRepository.findByUserAndMonthAndYear(user, month, year)
+                                        .map(this::toDto)
+                                        .orElseThrow(() -> new RuntimeException("Mês não encontrado"));
                 }
 
-                return toDto(savedMonth, initialTransactions);
+                // Auto-generate recurring transactions (default day capped to the month length)
+                int lastDay = LocalDate.of(year, month, 1).lengthOfMonth();
+                int recurring = transactionRepository.insertRecurringTransactions(user.getId(), createdId.get(),
+                                year, month, lastDay);
+                if (recurring > 0) {
+                        descriptionCache.evict(user.getId());
+                }
+
+                return toDto(transactionMonthRepository.findById(createdId.get())
+                                .orElseThrow(() -> new RuntimeException("Mês não encontrado")));
         }
 
         @Transactional
         public TransactionMonthDto updateInitialBalance(Long id, BigDecimal initialBalance) {
-                TransactionMonth transactionMonth = transactionMonthRepository.findById(id)
+                TransactionMonth transactionMonth = transactionMonthRepository.findByIdForUpdate(id)
                                 .orElseThrow(() -> new RuntimeException("Mês não encontrado"));
 
                 // Optimize: Check user ownership
+                requireOpen(transactionMonth);
+
+                if (Boolean.TRUE.equals(transactionMonth.getCarryOver())) {
+                        throw new IllegalArgumentException(
+                                        "O saldo inicial deste mês é calculado a partir do mês anterior.");
+                }
+
+                BigDecimal previousClosingBalance = transactionMonth.getClosingBalance();
+                applyTotals(transactionMonth, transactionMonthRepository.updateInitialBalance(id, initialBalance));
+                propagateBalance(transactionMonth, transactionMonth.getClosingBalance().subtract(previousClosingBalance));
+                return toDto(transactionMonth);
+        }
+
+        /**
+         * Turns the carry-over mode of the month on or off. When on, the initial
+         * balance is taken from the closing balance of the previous month and kept
+         * in sync with it.
+         */
+        @Transactional
+        public TransactionMonthDto updateCarryOver(Long id, Boolean carryOver) {
+                TransactionMonth transactionMonth = transactionMonthRepository.findByIdForUpdate(id)
+                                .orElseThrow(() -> new RuntimeException("Mês não encontrado"));
+                requireOpen(transactionMonth);
+
+                BigDecimal initialBalance = transactionMonth.getInitialBalance();
+                if (Boolean.TRUE.equals(carryOver)) {
+                        initialBalance = transactionMonthRepository
+                                        .findPreviousForShare(transactionMonth.getUser(), transactionMonth.getMonth(),
+                                                        transactionMonth.getYear())
+                                        .map(TransactionMonth::getClosingBalance)
+                                        .orElse(initialBalance);
+                }
+
+                BigDecimal previousClosingBalance = transactionMonth.getClosingBalance();
+                applyTotals(transactionMonth,
+                                transactionMonthRepository.updateCarryOver(id, Boolean.TRUE.equals(carryOver), initialBalance));
+                transactionMonth.setCarryOver(Boolean.TRUE.equals(carryOver));
+                propagateBalance(transactionMonth, transactionMonth.getClosingBalance().subtract(previousClosingBalance));
+                return toDto(transactionMonth);
+        }
+
+        /**
+         * Reads the stored totals of the month (no transactions are loaded).
+         */
+        @Transactional(readOnly = true)
+        public Optional<TransactionMonthSummaryDto> findSummary(Integer month, Integer year) {
+                return findMonthHeader(month, year).map(TransactionMonthDto::getSummary);
+        }
+
+        /**
+         * Re-derives the month totals from its transactions and compares them with
+         * the stored columns, reporting any drift.
+         */
+        @Transactional(readOnly = true)
+        public TransactionMonthSummaryCheckDto checkSummary(Long id) {
+                TransactionMonth transactionMonth = transactionMonthRepository.findById(id)
+                                .orElseThrow(() -> new RuntimeException("Mês não encontrado"));
 
-                transactionMonth.setInitialBalance(initialBalance);
-                return toDto(transactionMonthRepository.save(transactionMonth));
+                TransactionMonthSummaryDto stored = toSummaryDto(transactionMonth);
+                TransactionMonthSummaryDto derived = transactionMonthRepository.deriveSummary(id);
+
+                boolean consistent = sameAmount(stored.getIncomeCompleted(), derived.getIncomeCompleted())
+                                && sameAmount(stored.getIncomePending(), derived.getIncomePending())
+                                && sameAmount(stored.getExpenseCompleted(), derived.getExpenseCompleted())
+                                && sameAmount(stored.getExpensePending(), derived.getExpensePending())
+                                && sameAmount(stored.getClosingBalance(), derived.getClosingBalance());
+                if (!consistent) {
+                        log.warn("Summary drift on month {}: stored {}, derived {}", id, stored, derived);
+                }
+
+                return TransactionMonthSummaryCheckDto.builder()
+                                .monthId(id)
+                                .consistent(consistent)
+                                .stored(stored)
+                                .derived(derived)
+                                .build();
         }
 
         @Transactional
         public TransactionMonthDto addTransaction(Long monthId, TransactionDto dto) {
+                return toDto(insertTransaction(monthId, dto).getTransactionMonth());
+        }
+
+        @Transactional
+        public TransactionDeltaDto addTransactionDelta(Long monthId, TransactionDto dto) {
+                return toDeltaDto(insertTransaction(monthId, dto), false);
+        }
+
+        @Transactional
+        public TransactionMonthDto updateTransaction(Long transactionId, TransactionDto dto) {
+                return toDto(modifyTransaction(transactionId, dto).getTransactionMonth());
+        }
+
+        @Transactional
+        public TransactionDeltaDto updateTransactionDelta(Long transactionId, TransactionDto dto) {
+                return toDeltaDto(modifyTransaction(transactionId, dto), false);
+        }
+
+        @Transactional
+        public TransactionMonthDto deleteTransaction(Long transactionId) {
+                return toDto(removeTransaction(transactionId).getTransactionMonth());
+        }
+
+        @Transactional
+        public TransactionDeltaDto deleteTransactionDelta(Long transactionId) {
+                return toDeltaDto(removeTransaction(transactionId), true);
+        }
+
+        private Transaction insertTransaction(Long monthId, TransactionDto dto) {
                 TransactionMonth month = transactionMonthRepository.findById(monthId)
                                 .orElseThrow(() -> new RuntimeException("Mês não encontrado"));
+                requireOpen(month);
 
-                TransactionType type = transactionTypeRepository.findById(dto.getTransactionTypeId())
-                                .orElseThrow(() -> new RuntimeException("Tipo de Transação não encontrado"));
+                TransactionType type = findType(month.getUser().getId(), dto.getTransactionTypeId());
 
                 Transaction transaction = Transaction.builder()
                                 .user(month.getUser())
@@ -114,17 +336,23 @@ public class TransactionMonthService {
                                 .remark(dto.getRemark())
                                 .build();
 
-                transactionRepository.save(transaction);
-                return toDto(month);
+                Transaction savedTransaction = transactionRepository.save(transaction);
+                applyDelta(month, SummaryDelta.of(savedTransaction));
+                descriptionCache.update(month.getUser().getId(), index -> index.add(
+                                savedTransaction.getDescription(), savedTransaction.getTransactionDate()));
+                return savedTransaction;
         }
 
-        @Transactional
-        public TransactionMonthDto updateTransaction(Long transactionId, TransactionDto dto) {
-                Transaction transaction = transactionRepository.findById(transactionId)
+        private Transaction modifyTransaction(Long transactionId, TransactionDto dto) {
+                // Locked so the previous amount and status are still current when the delta is applied
+                Transaction transaction = transactionRepository.findByIdForUpdate(transactionId)
                                 .orElseThrow(() -> new RuntimeException("Transação não encontrada"));
+                requireOpen(transaction.getTransactionMonth());
 
-                TransactionType type = transactionTypeRepository.findById(dto.getTransactionTypeId())
-                                .orElseThrow(() -> new RuntimeException("Tipo de Transação não encontrado"));
+                TransactionType type = findType(transaction.getUser().getId(), dto.getTransactionTypeId());
+
+                SummaryDelta previous = SummaryDelta.of(transaction);
+                String previousDescription = transaction.getDescription();
 
                 // Update fields
                 transaction.setTransactionType(type);
@@ -135,92 +363,372 @@ public class TransactionMonthService {
                 transaction.setStatus(dto.getStatus());
                 transaction.setRemark(dto.getRemark());
 
-                transactionRepository.save(transaction);
-                return toDto(transaction.getTransactionMonth());
+                Transaction savedTransaction = transactionRepository.save(transaction);
+                applyDelta(savedTransaction.getTransactionMonth(),
+                                SummaryDelta.of(savedTransaction).minus(previous));
+                descriptionCache.update(savedTransaction.getUser().getId(), index -> {
+                        index.remove(previousDescription);
+                        index.add(savedTransaction.getDescription(), savedTransaction.getTransactionDate());
+                });
+                return savedTransaction;
         }
 
-        @Transactional
-        public TransactionMonthDto deleteTransaction(Long transactionId) {
-                Transaction transaction = transactionRepository.findById(transactionId)
+        private Transaction removeTransaction(Long transactionId) {
+                // Locked so a concurrent delete of the same row finds it gone instead of subtracting it twice
+                Transaction transaction = transactionRepository.findByIdForUpdate(transactionId)
                                 .orElseThrow(() -> new RuntimeException("Transação não encontrada"));
+                requireOpen(transaction.getTransactionMonth());
 
-                TransactionMonth month = transaction.getTransactionMonth();
                 transactionRepository.delete(transaction);
+                applyDelta(transaction.getTransactionMonth(), SummaryDelta.of(transaction).negate());
+                descriptionCache.update(transaction.getUser().getId(),
+                                index -> index.remove(transaction.getDescription()));
+                return transaction;
+        }
+
+        /**
+         * Applies the totals of rows written outside JPA (statement import) to the
+         * month in a single update.
+         */
+        void applyImportedTotals(TransactionMonth month, BigDecimal incomeCompleted, BigDecimal expenseCompleted) {
+                applyDelta(month, new SummaryDelta(incomeCompleted, BigDecimal.ZERO, expenseCompleted, BigDecimal.ZERO));
+        }
+
+        /**
+         * Applies the delta to the stored month totals, bumping its version, and
+         * refreshes the in-memory entity with the values returned by the database.
+         */
+        private void applyDelta(TransactionMonth month, SummaryDelta delta) {
+                lastValueCache.evict(month.getUser().getId());
+                TransactionMonthTotals totals = transactionMonthRepository.applyDelta(month.getId(),
+                                delta.incomeCompleted(), delta.incomePending(),
+                                delta.expenseCompleted(), delta.expensePending());
+                if (totals == null) {
+                        // Closed by a concurrent request after requireOpen; the write is rolled back
+                        throw new ClosedMonthException(CLOSED_MONTH_MESSAGE);
+                }
+                applyTotals(month, totals);
+                propagateBalance(month, delta.balance());
+        }
+
+        /**
+         * Rejects writes to a CLOSED month.
+         */
+        static void requireOpen(TransactionMonth month) {
+                if (CLOSED.equals(month.getStatus())) {
+                        throw new ClosedMonthException(CLOSED_MONTH_MESSAGE);
+                }
+        }
+
+        /**
+         * Shifts the balances of the carry-over months chained after the given
+         * month, in a single statement.
+         */
+        private void propagateBalance(TransactionMonth month, BigDecimal delta) {
+                if (delta.signum() == 0) {
+                        return;
+                }
+                transactionMonthRepository.propagateBalance(month.getUser().getId(),
+                                month.getYear() * 12 + month.getMonth(), delta);
+        }
+
+        private void applyTotals(TransactionMonth month, TransactionMonthTotals totals) {
+                month.setVersion(totals.getVersion());
+                month.setInitialBalance(totals.getInitialBalance());
+                month.setIncomeCompleted(totals.getIncomeCompleted());
+                month.setIncomePending(totals.getIncomePending());
+                month.setExpenseCompleted(totals.getExpenseCompleted());
+                month.setExpensePending(totals.getExpensePending());
+                month.setClosingBalance(totals.getClosingBalance());
+        }
+
+        private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+                return a.compareTo(b) == 0;
+        }
 
-                return toDto(month);
+        /**
+         * Totals per month and per transaction type for the range of months,
+         * aggregated by the database. Months are not created.
+         */
+        @Transactional(readOnly = true)
+        public TransactionReportDto getReport(YearMonth from, YearMonth to) {
+                if (from == null || to == null || from.isAfter(to)) {
+                        throw new IllegalArgumentException("Período inválido");
+                }
+                User currentUser = userService.getCurrentUser();
+
+                List<TransactionReportTypeDto> rows = transactionRepository.sumByMonthAndType(currentUser,
+                                from.atDay(1), to.plusMonths(1).atDay(1));
+
+                Map<YearMonth, List<TransactionReportTypeDto>> rowsByMonth = rows.stream()
+                                .collect(Collectors.groupingBy(r -> YearMonth.of(r.getYear(), r.getMonth()),
+                                                LinkedHashMap::new, Collectors.toList()));
+
+                List<TransactionReportMonthDto> months = rowsByMonth.entrySet().stream()
+                                .map(e -> TransactionReportMonthDto.builder()
+                                                .year(e.getKey().getYear())
+                                                .month(e.getKey().getMonthValue())
+                                                .income(sum(e.getValue(), TransactionTypeType.INCOME))
+                                                .expense(sum(e.getValue(), TransactionTypeType.EXPENSE))
+                                                .types(e.getValue())
+                                                .build())
+                                .toList();
+
+                return TransactionReportDto.builder()
+                                .from(from)
+                                .to(to)
+                                .income(sum(rows, TransactionTypeType.INCOME))
+                                .expense(sum(rows, TransactionTypeType.EXPENSE))
+                                .months(months)
+                                .build();
+        }
+
+        private static BigDecimal sum(List<TransactionReportTypeDto> rows, TransactionTypeType type) {
+                return rows.stream()
+                                .filter(r -> r.getType() == type)
+                                .map(r -> r.getCompleted().add(r.getPending()))
+                                .reduce(BigDecimal.ZERO, BigDecimal::add);
         }
 
+        @Transactional(readOnly = true)
         public BigDecimal getLastTransactionValue(Long transactionTypeId, String description) {
                 User currentUser = userService.getCurrentUser();
-                TransactionType type = transactionTypeRepository.findById(transactionTypeId)
-                                .orElseThrow(() -> new RuntimeException("Tipo de Transação não encontrado"));
+                TransactionType type = findType(currentUser.getId(), transactionTypeId);
 
-                Optional<Transaction> transaction = Optional.empty();
+                List<BigDecimal> amounts = List.of();
 
                 // 1. Try with Exact Description
                 if (description != null && !description.trim().isEmpty()) {
-                        transaction = transactionRepository
-                                        .findFirstByUserAndTransactionTypeAndDescriptionAndAmountGreaterThanOrderByTransactionDateDesc(
-                                                        currentUser, type, description.trim(), BigDecimal.ZERO);
+                        amounts = transactionRepository.findLastAmounts(currentUser, type, description.trim(),
+                                        Limit.of(1));
                 }
 
                 // 2. Fallback to just Type
-                if (transaction.isEmpty()) {
-                        transaction = transactionRepository
-                                        .findFirstByUserAndTransactionTypeAndAmountGreaterThanOrderByTransactionDateDesc(
-                                                        currentUser, type, BigDecimal.ZERO);
+                if (amounts.isEmpty()) {
+                        amounts = transactionRepository.findLastAmounts(currentUser, type, Limit.of(1));
                 }
 
-                return transaction.map(Transaction::getAmount).orElse(BigDecimal.ZERO);
+                return amounts.isEmpty() ? BigDecimal.ZERO : amounts.get(0);
+        }
+
+        /**
+         * Last positive amount of every Type and Description of the user, plus one
+         * entry per type without description holding the type-only fallback used
+         * by {@link #getLastTransactionValue}. Cached until the user's next write.
+         */
+        @Transactional(readOnly = true)
+        public List<TransactionLastValueDto> getLastTransactionValues() {
+                User currentUser = userService.getCurrentUser();
+                return lastValueCache.get(currentUser.getId(), this::loadLastValues);
+        }
+
+        private List<TransactionLastValueDto> loadLastValues(Long userId) {
+                List<TransactionLastValue> rows = transactionRepository.findLastValues(userId);
+                List<TransactionLastValueDto> values = new ArrayList<>(rows.size());
+
+                rows.stream()
+                                .filter(r -> r.getDescription() != null && !r.getDescription().isEmpty())
+                                .map(r -> new TransactionLastValueDto(r.getTransactionTypeId(), r.getDescription(),
+                                                r.getAmount()))
+                                .forEach(values::add);
+
+                rows.stream()
+                                .collect(Collectors.toMap(TransactionLastValue::getTransactionTypeId, r -> r,
+                                                (a, b) -> LAST_VALUE_ORDER.compare(a, b) >= 0 ? a : b,
+                                                LinkedHashMap::new))
+                                .values()
+                                .forEach(r -> values.add(new TransactionLastValueDto(r.getTransactionTypeId(), null,
+                                                r.getAmount())));
+
+                return List.copyOf(values);
+        }
+
+        /**
+         * Descriptions of the user starting with the prefix, ranked by how often and
+         * how recently they were used. Served from the per-user index; the table is
+         * only read when the index is not loaded.
+         */
+        @Transactional(readOnly = true)
+        public List<String> suggestDescriptions(String prefix, int limit) {
+                if (limit < 1 || limit > MAX_SUGGESTIONS) {
+                        throw new IllegalArgumentException("Limite inválido");
+                }
+                User currentUser = userService.getCurrentUser();
+                return descriptionCache.get(currentUser.getId(), this::loadDescriptionUsages)
+                                .suggest(prefix, limit, LocalDate.now());
         }
+
+        private List<DescriptionIndex.Usage> loadDescriptionUsages(Long userId) {
+                return transactionRepository.findDescriptionUsages(userId).stream()
+                                .map(u -> new DescriptionIndex.Usage(u.getDescription(), u.getUses(), u.getLastUsed()))
+                                .toList();
+        }
+
         // TODO: Add Transaction CRUD methods here (add, update, delete transaction
         // line)
 
+        /**
+         * Type of the user, from the per-user cache. Types of other users are not
+         * found. The instance is shared and must not be modified.
+         */
+        private TransactionType findType(Long userId, Long transactionTypeId) {
+                TransactionType type = transactionTypeId == null ? null
+                                : transactionTypeCache.get(userId, transactionTypeRepository::findByUserId)
+                                                .get(transactionTypeId);
+                if (type == null) {
+                        throw new RuntimeException("Tipo de Transação não encontrado");
+                }
+                return type;
+        }
+
         private TransactionMonthDto toDto(TransactionMonth entity) {
-                List<Transaction> transactions = transactionRepository
-                                .findByTransactionMonthOrderByTransactionDateAsc(entity);
-
-                // Custom Sort: Day ASC (already from DB), then Type (Income before Expense)
-                transactions.sort((t1, t2) -> {
-                        int dateCompare = t1.getTransactionDate().compareTo(t2.getTransactionDate());
-                        if (dateCompare != 0)
-                                return dateCompare;
-
-                        // If same date, INCOME comes before EXPENSE
-                        boolean t1IsIncome = t1.getTransactionType().getType() == TransactionTypeType.INCOME;
-                        boolean t2IsIncome = t2.getTransactionType().getType() == TransactionTypeType.INCOME;
-
-                        if (t1IsIncome && !t2IsIncome)
-                                return -1;
-                        if (!t1IsIncome && t2IsIncome)
-                                return 1;
-                        return 0;
-                });
+                TransactionMonthDto dto = toHeaderDto(entity);
+                dto.setTransactions(findTransactionDtos(entity));
+                return dto;
+        }
+
+        /**
+         * Rows of the month ordered by date, INCOME before EXPENSE on the same date,
+         * then id. The type comes from the per-user cache, so the query does not
+         * touch transaction_type; a type the cache does not know yet reloads the
+         * cached types once.
+         */
+        private List<TransactionDto> findTransactionDtos(TransactionMonth entity) {
+                Long userId = entity.getUser().getId();
+                List<TransactionDto> rows = transactionRepository.findRowsByTransactionMonthId(entity.getId());
+                Map<Long, TransactionType> cached = transactionTypeCache.get(userId,
+                                transactionTypeRepository::findByUserId);
+                Map<Long, TransactionType> types = rows.stream()
+                                .allMatch(row -> cached.containsKey(row.getTransactionTypeId()))
+                                                ? cached
+                                                : reloadTypes(userId);
+                for (TransactionDto row : rows) {
+                        TransactionType type = types.get(row.getTransactionTypeId());
+                        if (type == null) {
+                                throw new RuntimeException("Tipo de Transação não encontrado");
+                        }
+                        row.setType(type.getType());
+                }
+                incomeFirst(rows);
+                return rows;
+        }
 
-                return toDto(entity, transactions);
+        private Map<Long, TransactionType> reloadTypes(Long userId) {
+                log.debug("Reloading cached transaction types of user {}", userId);
+                transactionTypeCache.evict(userId);
+                return transactionTypeCache.get(userId, transactionTypeRepository::findByUserId);
         }
 
-        private TransactionMonthDto toDto(TransactionMonth entity, List<Transaction> transactions) {
-                List<TransactionDto> transactionDtos = transactions.stream()
-                                .map(t -> TransactionDto.builder()
-                                                .id(t.getId())
-                                                .day(t.getTransactionDate().getDayOfMonth())
-                                                .transactionTypeId(t.getTransactionType().getId())
-                                                .description(t.getDescription())
-                                                .amount(t.getAmount())
-                                                .amount(t.getAmount())
-                                                .status(t.getStatus())
-                                                .remark(t.getRemark())
-                                                .build())
-                                .collect(Collectors.toList());
+        /**
+         * Moves INCOME rows ahead of EXPENSE rows within each day, keeping the
+         * order of each group. Rows must already be ordered by date, then id, as
+         * {@link TransactionRepository#findRowsByTransactionMonthId} returns them,
+         * so one pass replaces a full sort. Reorders the list in place.
+         */
+        private static void incomeFirst(List<TransactionDto> rows) {
+                List<TransactionDto> expenses = new ArrayList<>();
+                int start = 0;
+                while (start < rows.size()) {
+                        int day = rows.get(start).getDay();
+                        int write = start;
+                        int end = start;
+                        expenses.clear();
+                        for (; end < rows.size() && rows.get(end).getDay() == day; end++) {
+                                TransactionDto row = rows.get(end);
+                                if (row.getType() == TransactionTypeType.INCOME) {
+                                        rows.set(write++, row);
+                                } else {
+                                        expenses.add(row);
+                                }
+                        }
+                        for (TransactionDto expense : expenses) {
+                                rows.set(write++, expense);
+                        }
+                        start = end;
+                }
+        }
 
+        private TransactionMonthDto toHeaderDto(TransactionMonth entity) {
                 return TransactionMonthDto.builder()
                                 .id(entity.getId())
                                 .month(entity.getMonth())
                                 .year(entity.getYear())
                                 .status(entity.getStatus())
                                 .initialBalance(entity.getInitialBalance())
-                                .transactions(transactionDtos)
+                                .carryOver(entity.getCarryOver())
+                                .version(entity.getVersion())
+                                .summary(toSummaryDto(entity))
                                 .build();
         }
+
+        TransactionMonthSummaryDto toSummaryDto(TransactionMonth entity) {
+                return TransactionMonthSummaryDto.builder()
+                                .incomeCompleted(entity.getIncomeCompleted())
+                                .incomePending(entity.getIncomePending())
+                                .expenseCompleted(entity.getExpenseCompleted())
+                                .expensePending(entity.getExpensePending())
+                                .closingBalance(entity.getClosingBalance())
+                                .build();
+        }
+
+        private TransactionDeltaDto toDeltaDto(Transaction transaction, boolean deleted) {
+                return TransactionDeltaDto.builder()
+                                .monthId(transaction.getTransactionMonth().getId())
+                                .version(transaction.getTransactionMonth().getVersion())
+                                .deleted(deleted)
+                                .transaction(toTransactionDto(transaction))
+                                .summary(toSummaryDto(transaction.getTransactionMonth()))
+                                .build();
+        }
+
+        /**
+         * Maps the transaction, with its type loaded, to the row of the month view.
+         */
+        private TransactionDto toTransactionDto(Transaction transaction) {
+                return TransactionDto.builder()
+                                .id(transaction.getId())
+                                .day(transaction.getTransactionDate().getDayOfMonth())
+                                .transactionTypeId(transaction.getTransactionType().getId())
+                                .type(transaction.getTransactionType().getType())
+                                .description(transaction.getDescription())
+                                .amount(transaction.getAmount())
+                                .status(transaction.getStatus())
+                                .remark(transaction.getRemark())
+                                .build();
+        }
+
+        /**
+         * Signed contribution of transaction rows to the month totals.
+         */
+        private record SummaryDelta(BigDecimal incomeCompleted, BigDecimal incomePending,
+                        BigDecimal expenseCompleted, BigDecimal expensePending) {
+
+                static SummaryDelta of(Transaction transaction) {
+                        BigDecimal amount = transaction.getAmount();
+                        boolean income = transaction.getTransactionType().getType() == TransactionTypeType.INCOME;
+                        boolean completed = transaction.getStatus() == TransactionStatus.COMPLETED;
+                        return new SummaryDelta(
+                                        income && completed ? amount : BigDecimal.ZERO,
+                                        income && !completed ? amount : BigDecimal.ZERO,
+                                        !income && completed ? amount : BigDecimal.ZERO,
+                                        !income && !completed ? amount : BigDecimal.ZERO);
+                }
+
+                BigDecimal balance() {
+                        return incomeCompleted.add(incomePending).subtract(expenseCompleted).subtract(expensePending);
+                }
+
+                SummaryDelta negate() {
+                        return new SummaryDelta(incomeCompleted.negate(), incomePending.negate(),
+                                        expenseCompleted.negate(), expensePending.negate());
+                }
+
+                SummaryDelta minus(SummaryDelta other) {
+                        return new SummaryDelta(
+                                        incomeCompleted.subtract(other.incomeCompleted),
+                                        incomePending.subtract(other.incomePending),
+                                        expenseCompleted.subtract(other.expenseCompleted),
+                                        expensePending.subtract(other.expensePending));
+                }
+        }
 }
@@ -1,51 +1,192 @@
 package br.com.infotech.myfinances.service;
 
+import br.com.infotech.myfinances.cache.TransactionTypeCache;
+import br.com.infotech.myfinances.cache.TransactionTypeIndex;
 import br.com.infotech.myfinances.domain.TransactionType;
 import br.com.infotech.myfinances.domain.TransactionTypeStatus;
 import br.com.infotech.myfinances.domain.TransactionTypeType;
+import br.com.infotech.myfinances.dto.CursorPageDto;
 import br.com.infotech.myfinances.dto.TransactionTypeDto;
 import br.com.infotech.myfinances.repository.TransactionTypeRepository;
+import br.com.infotech.myfinances.util.CursorUtils;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Service
+@Timed("myfinances.service")
 @RequiredArgsConstructor
 @Slf4j
 public class TransactionTypeService {
 
+    private static final Sort DESCRIPTION_ORDER = Sort.by("description");
+
+    private static final Map<String, Comparator<TransactionType>> SORTABLE = Map.of(
+            "id", Comparator.comparing(TransactionType::getId),
+            "type", Comparator.comparing(t -> t.getType().name()),
+            "recurring", Comparator.comparing(TransactionType::getRecurring,
+                    Comparator.nullsLast(Comparator.naturalOrder())),
+            "defaultDay", Comparator.comparing(TransactionType::getDefaultDay,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+
+    /**
+     * Values of the sort keys written to a scroll cursor; a null defaultDay is
+     * written as an empty string.
+     */
+    private static final Map<String, Function<TransactionType, String>> CURSOR_KEYS = Map.of(
+            "id", t -> String.valueOf(t.getId()),
+            "type", t -> t.getType().name(),
+            "description", TransactionType::getDescription,
+            "recurring", t -> String.valueOf(t.getRecurring()),
+            "defaultDay", t -> t.getDefaultDay() == null ? "" : String.valueOf(t.getDefaultDay()));
+
     private final TransactionTypeRepository transactionTypeRepository;
     private final UserService userService;
+    private final TransactionTypeCache transactionTypeCache;
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from the user's cached type index; no transaction is opened unless
+     * the index has to be loaded. Sorts by other properties than description,
+     * id, type, recurring and defaultDay are left to the database, as before the
+     * index.
+     */
     public Page<TransactionTypeDto> findAll(String description, List<String> types, Pageable pageable) {
         log.debug("Finding all transaction types. Description: {}, Types: {}", description, types);
 
-        List<TransactionTypeType> typeEnums = null;
+        if (!isSortable(pageable.getSort())) {
+            return transactionTypeRepository.search(userService.getCurrentUser(), TransactionTypeStatus.ACTIVE,
+                    description, typeEnums(types), pageable).map(this::toDTO);
+        }
+
+        TransactionTypeIndex index = currentIndex();
+        List<TransactionType> matches = search(index, description, types, pageable.getSort());
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(matches.stream().map(this::toDTO).toList(), pageable, matches.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(matches.subList(from, to).stream().map(this::toDTO).toList(), pageable,
+                matches.size());
+    }
+
+    /**
+     * Cursor pagination over the same in-memory search as {@link #findAll}. The
+     * cursor holds the sort key values and the id of the last type returned, as
+     * they were when the page was served; the next page starts right after that
+     * tuple in the requested order, found by binary search, so types added,
+     * removed or edited meanwhile do not shift the pages.
+     */
+    public CursorPageDto<TransactionTypeDto> scroll(String description, List<String> types, Sort sort, int size,
+            String cursor, boolean withTotal) {
+        log.debug("Scrolling transaction types. Description: {}, Types: {}", description, types);
+
+        Sort keys = sort.isSorted() ? sort : DESCRIPTION_ORDER;
+        if (keys.getOrderFor("id") == null) {
+            keys = keys.and(Sort.by("id"));
+        }
+        TransactionTypeIndex index = currentIndex();
+        List<TransactionType> matches = search(index, description, types, sort);
+
+        int from = 0;
+        if (cursor != null) {
+            int found = Collections.binarySearch(matches, cursorPosition(keys, cursor),
+                    comparator(keys, TransactionTypeIndex.descriptionValueOrder()));
+            from = found >= 0 ? found + 1 : -found - 1;
+        }
+        int to = Math.min(from + size, matches.size());
+        List<TransactionType> content = matches.subList(from, to);
+
+        String next = null;
+        if (to < matches.size()) {
+            TransactionType last = content.getLast();
+            next = CursorUtils.encode(keys.stream()
+                    .map(order -> CURSOR_KEYS.get(order.getProperty()).apply(last))
+                    .toList());
+        }
+        return CursorPageDto.<TransactionTypeDto>builder()
+                .content(content.stream().map(this::toDTO).toList())
+                .next(next)
+                .total(withTotal ? (long) matches.size() : null)
+                .build();
+    }
+
+    private TransactionTypeIndex currentIndex() {
+        return transactionTypeCache.index(userService.getCurrentUser().getId(),
+                transactionTypeRepository::findByUserId);
+    }
+
+    private static List<TransactionType> search(TransactionTypeIndex index, String description, List<String> types,
+            Sort sort) {
+        List<TransactionType> matches = index.search(description, typeEnums(types));
+        if (sort.isSorted() && !DESCRIPTION_ORDER.equals(sort)) {
+            // The index already returns the default order
+            matches = new ArrayList<>(matches);
+            matches.sort(comparator(sort, index.descriptionOrder()));
+        }
+        return matches;
+    }
+
+    private static List<TransactionTypeType> typeEnums(List<String> types) {
         if (types != null && !types.isEmpty()) {
-            typeEnums = types.stream()
+            return types.stream()
                     .map(TransactionTypeType::valueOf)
                     .toList();
-        } else {
-            typeEnums = java.util.Arrays.asList(TransactionTypeType.values());
         }
+        return java.util.Arrays.asList(TransactionTypeType.values());
+    }
+
+    private static boolean isSortable(Sort sort) {
+        return sort.stream().allMatch(order -> "description".equals(order.getProperty())
+                || SORTABLE.containsKey(order.getProperty()));
+    }
 
-        return transactionTypeRepository.search(
-                userService.getCurrentUser(),
-                TransactionTypeStatus.ACTIVE,
-                description,
-                typeEnums,
-                pageable)
-                .map(this::toDTO);
+    /**
+     * Type holding the sort key values of the cursor, to be compared with the
+     * matches; it is not a stored type.
+     */
+    private static TransactionType cursorPosition(Sort keys, String cursor) {
+        for (Sort.Order order : keys) {
+            if (!CURSOR_KEYS.containsKey(order.getProperty())) {
+                throw new IllegalArgumentException("Ordenação inválida: " + order.getProperty());
+            }
+        }
+        List<String> values = CursorUtils.decode(cursor, (int) keys.stream().count());
+        TransactionType.TransactionTypeBuilder position = TransactionType.builder();
+        int i = 0;
+        try {
+            for (Sort.Order order : keys) {
+                String value = values.get(i++);
+                switch (order.getProperty()) {
+                    case "id" -> position.id(Long.valueOf(value));
+                    case "type" -> position.type(TransactionTypeType.valueOf(value));
+                    case "description" -> position.description(value);
+                    case "recurring" -> position.recurring(Boolean.valueOf(value));
+                    default -> position.defaultDay(value.isEmpty() ? null : Integer.valueOf(value));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Also NumberFormatException
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+        return position.build();
     }
 
-    @Transactional(readOnly = true)
     public TransactionTypeDto findById(Long id) {
         return toDTO(findByIdOrThrow(id));
     }
@@ -61,12 +202,14 @@ public class TransactionTypeService {
                 .status(TransactionTypeStatus.ACTIVE)
                 .build();
 
-        return toDTO(transactionTypeRepository.save(entity));
+        entity = transactionTypeRepository.save(entity);
+        transactionTypeCache.evict(entity.getUser().getId());
+        return toDTO(entity);
     }
 
     @Transactional
     public TransactionTypeDto update(Long id, TransactionTypeDto dto) {
-        TransactionType entity = findByIdOrThrow(id);
+        TransactionType entity = findForUpdate(id);
 
         // Business Rule: Cannot change Type
         if (dto.getType() != null && !dto.getType().equals(entity.getType())) {
@@ -77,23 +220,58 @@ public class TransactionTypeService {
         entity.setRecurring(dto.getRecurring());
         entity.setDefaultDay(dto.getDefaultDay());
 
-        return toDTO(transactionTypeRepository.save(entity));
+        entity = transactionTypeRepository.save(entity);
+        transactionTypeCache.evict(entity.getUser().getId());
+        return toDTO(entity);
     }
 
     @Transactional
     public void delete(Long id) {
-        TransactionType entity = findByIdOrThrow(id);
+        TransactionType entity = findForUpdate(id);
         entity.setStatus(TransactionTypeStatus.DELETED);
         transactionTypeRepository.save(entity);
+        transactionTypeCache.evict(entity.getUser().getId());
     }
 
+    /**
+     * Active type of the current user, from the per-user cache. The instance is
+     * shared and must not be modified.
+     */
     private TransactionType findByIdOrThrow(Long id) {
-        return transactionTypeRepository.findById(id)
-                .filter(t -> t.getUser().getId().equals(userService.getCurrentUser().getId()))
+        Long userId = userService.getCurrentUser().getId();
+        return Optional.ofNullable(id)
+                .map(transactionTypeCache.get(userId, transactionTypeRepository::findByUserId)::get)
                 .filter(t -> t.getStatus() == TransactionTypeStatus.ACTIVE)
                 .orElseThrow(() -> new EntityNotFoundException("Tipo de transação não encontrado."));
     }
 
+    /**
+     * Checks ownership against the cache, then returns a managed instance for the
+     * write, leaving the cached one untouched.
+     */
+    private TransactionType findForUpdate(Long id) {
+        return transactionTypeRepository.getReferenceById(findByIdOrThrow(id).getId());
+    }
+
+    /**
+     * Comparator for the requested sort, with the id as the final tie-breaker.
+     * Descriptions use the given order, normally the collation ranks precomputed
+     * by the index. Nulls sort as in PostgreSQL: last ascending, first descending.
+     */
+    private static Comparator<TransactionType> comparator(Sort sort, Comparator<TransactionType> descriptionOrder) {
+        Comparator<TransactionType> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<TransactionType> property = "description".equals(order.getProperty())
+                    ? descriptionOrder
+                    : SORTABLE.get(order.getProperty());
+            if (property == null) {
+                throw new IllegalArgumentException("Ordenação inválida: " + order.getProperty());
+            }
+            comparator = comparator.thenComparing(order.isAscending() ? property : property.reversed());
+        }
+        return comparator.thenComparing(TransactionType::getId);
+    }
+
     private TransactionTypeDto toDTO(TransactionType entity) {
         return TransactionTypeDto.builder()
                 .id(entity.getId())
@@ -1,36 +1,61 @@
 package br.com.infotech.myfinances.service;
 
+import br.com.infotech.myfinances.cache.UserCache;
 import br.com.infotech.myfinances.domain.User;
 import br.com.infotech.myfinances.domain.UserStatus;
 import br.com.infotech.myfinances.domain.UserType;
+import br.com.infotech.myfinances.dto.CursorPageDto;
 import br.com.infotech.myfinances.dto.UserDto;
 import br.com.infotech.myfinances.exception.BadCredentialsException;
 import br.com.infotech.myfinances.exception.BlockedUserException;
 import br.com.infotech.myfinances.exception.InvalidNewPasswordDataException;
 import br.com.infotech.myfinances.repository.UserRepository;
-import br.com.infotech.myfinances.util.CryptUtils;
+import br.com.infotech.myfinances.security.PasswordHasher;
+import br.com.infotech.myfinances.util.CursorUtils;
+import io.micrometer.core.annotation.Timed;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
+@Timed("myfinances.service")
 @Transactional(readOnly = true)
 @Slf4j
 public class UserService {
 
     private static final String INVALID_CREDENTIALS_MSG = "Usuário ou senha inválidos";
 
+    /**
+     * Sort keys accepted by {@link #scroll}, all NOT NULL and backed by an index
+     * ending in the id.
+     */
+    private static final Map<String, Function<User, Object>> SCROLL_KEYS = Map.of(
+            "id", User::getId,
+            "login", User::getLogin,
+            "name", User::getName);
+
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final PasswordHasher passwordHasher;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserCache userCache, PasswordHasher passwordHasher) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.passwordHasher = passwordHasher;
     }
 
     /**
@@ -50,6 +75,10 @@ public class UserService {
 
     /**
      * Realiza o login do usuário verificando as credenciais e o status.
+     * Senhas com hash antigo ou com outro fator de trabalho são regeradas após
+     * um login bem-sucedido. Nenhuma transação fica aberta durante o hash. Um
+     * login inexistente também passa por uma verificação de senha, para que o
+     * tempo de resposta não revele quais logins existem.
      *
      * @param login    O login do usuário.
      * @param password A senha do usuário.
@@ -59,17 +88,20 @@ public class UserService {
      *                                  estiver incorreta.
      * @throws BlockedUserException     se o usuário estiver com status BLOCKED.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDto login(String login, String password) {
         log.debug("Attempting login for user: {}", login);
         if (StringUtils.isBlank(login) || StringUtils.isBlank(password)) {
             throw new IllegalArgumentException("Login e senha obrigatórios");
         }
 
-        User user = userRepository.findByLogin(login)
-                .orElseThrow(() -> new BadCredentialsException(INVALID_CREDENTIALS_MSG));
+        User user = userRepository.findByLogin(login).orElse(null);
+        if (user == null) {
+            passwordHasher.verifyUnknownUser(password);
+            throw new BadCredentialsException(INVALID_CREDENTIALS_MSG);
+        }
 
-        String encryptedPassword = CryptUtils.encrypt(password);
-        if (!user.getPassword().equals(encryptedPassword)) {
+        if (!passwordHasher.verify(password, user.getPassword())) {
             throw new BadCredentialsException(INVALID_CREDENTIALS_MSG);
         }
 
@@ -77,6 +109,13 @@ public class UserService {
             throw new BlockedUserException("Usuário bloqueado");
         }
 
+        if (passwordHasher.needsUpgrade(user.getPassword())) {
+            log.debug("Upgrading password hash for user: {}", login);
+            user.setPassword(passwordHasher.hash(password));
+            userRepository.save(user);
+            userCache.evict(user.getLogin());
+        }
+
         return UserDto.builder()
                 .id(user.getId())
                 .login(user.getLogin())
@@ -95,16 +134,16 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
 
-        String encryptedOldPassword = CryptUtils.encrypt(oldPassword);
-        if (!user.getPassword().equals(encryptedOldPassword)) {
+        if (!passwordHasher.verify(oldPassword, user.getPassword())) {
             throw new BadCredentialsException("Senha atual incorreta");
         }
 
         validateNewPassword(newPassword);
 
-        user.setPassword(CryptUtils.encrypt(newPassword));
+        user.setPassword(passwordHasher.hash(newPassword));
         user.setChangePwdOnLogin(false);
         userRepository.save(user);
+        userCache.evict(user.getLogin());
     }
 
     private void validateNewPassword(String password) {
@@ -138,22 +177,85 @@ public class UserService {
     public Page<UserDto> findAll(List<UserStatus> statuses,
             Pageable pageable) {
         log.debug("Finding all users with statuses: {}", statuses);
-        Specification<User> spec = (root, query, cb) -> {
+        return userRepository.findAll(statusSpec(statuses), pageable).map(this::toDto);
+    }
+
+    /**
+     * Busca usuários por paginação de chave (seek): cada página continua após o
+     * último usuário da anterior, sem OFFSET, e o total só é contado quando
+     * solicitado.
+     *
+     * @param statuses  Status para filtro.
+     * @param sort      Ordenação por id, login ou name; o id é sempre o último
+     *                  critério.
+     * @param size      Tamanho da página.
+     * @param cursor    Cursor retornado pela página anterior; nulo na primeira.
+     * @param withTotal Se o total de usuários deve ser contado.
+     * @return A página, com o cursor da próxima quando houver.
+     * @throws IllegalArgumentException se a ordenação ou o cursor forem inválidos.
+     */
+    public CursorPageDto<UserDto> scroll(List<UserStatus> statuses, Sort sort, int size, String cursor,
+            boolean withTotal) {
+        log.debug("Scrolling users with statuses: {}", statuses);
+        Sort keys = sort.getOrderFor("id") == null ? sort.and(Sort.by("id")) : sort;
+        for (Sort.Order order : keys) {
+            if (!SCROLL_KEYS.containsKey(order.getProperty())) {
+                throw new IllegalArgumentException("Ordenação inválida: " + order.getProperty());
+            }
+        }
+
+        Specification<User> spec = statusSpec(statuses);
+        ScrollPosition position = cursor == null ? ScrollPosition.keyset() : position(keys, cursor);
+        Window<User> window = userRepository.findBy(spec, q -> q.sortBy(keys).limit(size).scroll(position));
+
+        String next = null;
+        if (window.hasNext()) {
+            User last = window.getContent().getLast();
+            next = CursorUtils.encode(keys.stream()
+                    .map(order -> String.valueOf(SCROLL_KEYS.get(order.getProperty()).apply(last)))
+                    .toList());
+        }
+        return CursorPageDto.<UserDto>builder()
+                .content(window.getContent().stream().map(this::toDto).toList())
+                .next(next)
+                .total(withTotal ? userRepository.count(spec) : null)
+                .build();
+    }
+
+    private static ScrollPosition position(Sort keys, String cursor) {
+        List<String> values = CursorUtils.decode(cursor, (int) keys.stream().count());
+        Map<String, Object> position = new LinkedHashMap<>();
+        int i = 0;
+        for (Sort.Order order : keys) {
+            String value = values.get(i++);
+            try {
+                position.put(order.getProperty(), "id".equals(order.getProperty()) ? Long.valueOf(value) : value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor inválido", e);
+            }
+        }
+        return ScrollPosition.forward(position);
+    }
+
+    private static Specification<User> statusSpec(List<UserStatus> statuses) {
+        return (root, query, cb) -> {
             if (statuses != null && !statuses.isEmpty()) {
                 return cb.and(root.get("status").in(statuses),
                         cb.notEqual(root.get("type"), UserType.MASTER));
             }
             return cb.notEqual(root.get("type"), UserType.MASTER);
         };
+    }
 
-        return userRepository.findAll(spec, pageable).map(user -> UserDto.builder()
+    private UserDto toDto(User user) {
+        return UserDto.builder()
                 .id(user.getId())
                 .login(user.getLogin())
                 .name(user.getName())
                 .type(user.getType().name())
                 .changePwdOnLogin(user.getChangePwdOnLogin())
                 .status(user.getStatus().name())
-                .build());
+                .build();
     }
 
     @Transactional
@@ -179,7 +281,7 @@ public class UserService {
         User user = User.builder()
                 .login(userDto.getLogin())
                 .name(userDto.getName())
-                .password(CryptUtils.encrypt(password))
+                .password(passwordHasher.hash(password))
                 .status(UserStatus.ACTIVE)
                 .type(UserType.valueOf(userDto.getType()))
                 .changePwdOnLogin(true)
@@ -207,6 +309,7 @@ public class UserService {
             userRepository.findByLogin(userDto.getLogin()).ifPresent(u -> {
                 throw new IllegalArgumentException("Login já existe");
             });
+            userCache.evict(user.getLogin());
             user.setLogin(userDto.getLogin());
         }
 
@@ -218,11 +321,12 @@ public class UserService {
         user.setType(UserType.valueOf(userDto.getType()));
 
         if (StringUtils.isNotBlank(userDto.getPassword())) {
-            user.setPassword(CryptUtils.encrypt(userDto.getPassword()));
+            user.setPassword(passwordHasher.hash(userDto.getPassword()));
             user.setChangePwdOnLogin(true);
         }
 
         user = userRepository.save(user);
+        userCache.evict(user.getLogin());
 
         return UserDto.builder()
                 .id(user.getId())
@@ -241,8 +345,13 @@ public class UserService {
 
         user.setStatus(status);
         userRepository.save(user);
+        userCache.evict(user.getLogin());
     }
 
+    /**
+     * O usuário vem do contexto da requisição; não abre transação.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public User getCurrentUser() {
         User user = br.com.infotech.myfinances.context.UserContext.getCurrentUser();
         if (user == null) {
@@ -0,0 +1,110 @@
+package br.com.infotech.myfinances.statement;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lê extratos CSV com as colunas data, histórico e valor, nessa ordem.
+ * <p>
+ * O separador (";" ou ",") é deduzido da primeira linha, que é ignorada quando
+ * não começa por uma data. Datas podem vir como dd/MM/yyyy ou yyyy-MM-dd e
+ * valores como 1.234,56 ou 1234.56.
+ */
+public class CsvStatementParser implements StatementParser {
+
+    private static final DateTimeFormatter BR_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    @Override
+    public void parse(Reader reader, Consumer<StatementLine> consumer) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+        char separator = 0;
+        int lineNumber = 0;
+        String line;
+
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            boolean first = separator == 0;
+            if (first) {
+                separator = line.indexOf(';') >= 0 ? ';' : ',';
+            }
+
+            List<String> fields = split(line, separator);
+            if (first && parseDate(fields.get(0)) == null) {
+                // Header
+                continue;
+            }
+            if (fields.size() < 3) {
+                throw new IllegalArgumentException("Linha " + lineNumber + " do extrato inválida");
+            }
+
+            LocalDate date = parseDate(fields.get(0));
+            BigDecimal amount = parseAmount(fields.get(2));
+            if (date == null || amount == null) {
+                throw new IllegalArgumentException("Linha " + lineNumber + " do extrato inválida");
+            }
+            consumer.accept(new StatementLine(date, fields.get(1).trim(), amount));
+        }
+    }
+
+    static List<String> split(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static LocalDate parseDate(String value) {
+        String text = value.trim();
+        try {
+            return text.indexOf('/') >= 0 ? LocalDate.parse(text, BR_DATE) : LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    static BigDecimal parseAmount(String value) {
+        String text = value.trim().replace("R$", "").replace(" ", "");
+        if (text.indexOf(',') >= 0) {
+            // Brazilian notation: "." groups thousands and "," separates decimals
+            text = text.replace(".", "").replace(',', '.');
+        }
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.infotech.myfinances.statement;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Lê os lançamentos (STMTTRN) de extratos OFX, tanto no formato SGML (tags sem
+ * fechamento) quanto XML. Usa DTPOSTED, TRNAMT e MEMO, ou NAME na ausência de MEMO.
+ */
+public class OfxStatementParser implements StatementParser {
+
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    @Override
+    public void parse(Reader reader, Consumer<StatementLine> consumer) throws IOException {
+        Reader in = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+        StringBuilder token = new StringBuilder();
+        boolean inTag = false;
+        String tag = null;
+        boolean inTransaction = false;
+        String date = null;
+        String amount = null;
+        String memo = null;
+        String name = null;
+        int c;
+
+        // Tokenizes the stream into <TAG>value pairs, keeping only the current transaction.
+        while ((c = in.read()) != -1) {
+            if (c == '<') {
+                if (tag != null) {
+                    String value = token.toString().trim();
+                    switch (tag) {
+                        case "DTPOSTED" -> date = value;
+                        case "TRNAMT" -> amount = value;
+                        case "MEMO" -> memo = value;
+                        case "NAME" -> name = value;
+                        default -> {
+                        }
+                    }
+                }
+                token.setLength(0);
+                tag = null;
+                inTag = true;
+            } else if (c == '>' && inTag) {
+                String element = token.toString().trim().toUpperCase(Locale.ROOT);
+                token.setLength(0);
+                inTag = false;
+                if (element.equals("STMTTRN")) {
+                    inTransaction = true;
+                    date = amount = memo = name = null;
+                } else if (element.equals("/STMTTRN")) {
+                    if (inTransaction) {
+                        consumer.accept(toLine(date, amount, memo != null && !memo.isEmpty() ? memo : name));
+                    }
+                    inTransaction = false;
+                } else if (inTransaction && !element.startsWith("/")) {
+                    tag = element;
+                }
+            } else if (token.length() < 1024) {
+                token.append((char) c);
+            }
+        }
+    }
+
+    private static StatementLine toLine(String date, String amount, String description) {
+        if (date == null || date.length() < 8 || amount == null) {
+            throw new IllegalArgumentException("Lançamento do extrato OFX inválido");
+        }
+        try {
+            return new StatementLine(
+                    LocalDate.parse(date.substring(0, 8), OFX_DATE),
+                    description == null ? "" : description,
+                    new BigDecimal(amount.replace(',', '.')));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Lançamento do extrato OFX inválido");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.infotech.myfinances.statement;
+
+import java.util.Locale;
+
+/**
+ * Formatos de extrato aceitos pela importação.
+ */
+public enum StatementFormat {
+    CSV {
+        @Override
+        public StatementParser parser() {
+            return new CsvStatementParser();
+        }
+    },
+    OFX {
+        @Override
+        public StatementParser parser() {
+            return new OfxStatementParser();
+        }
+    };
+
+    public abstract StatementParser parser();
+
+    /**
+     * Deduz o formato pela extensão do arquivo.
+     *
+     * @param filename O nome do arquivo enviado.
+     * @return O formato correspondente.
+     * @throws IllegalArgumentException Se a extensão não for reconhecida.
+     */
+    public static StatementFormat fromFilename(String filename) {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv") || name.endsWith(".txt")) {
+            return CSV;
+        }
+        if (name.endsWith(".ofx")) {
+            return OFX;
+        }
+        throw new IllegalArgumentException("Formato de extrato não reconhecido: " + filename);
+    }
+}
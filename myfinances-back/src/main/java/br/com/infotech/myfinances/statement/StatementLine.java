@@ -0,0 +1,14 @@
+package br.com.infotech.myfinances.statement;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lançamento lido de um extrato bancário. Valores negativos são débitos.
+ *
+ * @param date        Data do lançamento.
+ * @param description Histórico informado pelo banco.
+ * @param amount      Valor com sinal.
+ */
+public record StatementLine(LocalDate date, String description, BigDecimal amount) {
+}
@@ -0,0 +1,22 @@
+package br.com.infotech.myfinances.statement;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * Leitor de extratos bancários. Os lançamentos são entregues ao consumidor à
+ * medida que são lidos, sem carregar o arquivo inteiro em memória.
+ */
+public interface StatementParser {
+
+    /**
+     * Lê o extrato e entrega cada lançamento ao consumidor.
+     *
+     * @param reader   O conteúdo do extrato.
+     * @param consumer Recebe cada lançamento lido.
+     * @throws IOException              Em caso de falha de leitura.
+     * @throws IllegalArgumentException Se o conteúdo não estiver no formato esperado.
+     */
+    void parse(Reader reader, Consumer<StatementLine> consumer) throws IOException;
+}
@@ -1,14 +1,26 @@
 package br.com.infotech.myfinances.util;
 
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
 
 /**
  * Utilitário para criptografia (hashing) de strings.
  */
 public class CryptUtils {
 
+    private static final String PBKDF2_PREFIX = "pbkdf2";
+    private static final String PBKDF2_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_LENGTH = 16;
+    private static final int KEY_LENGTH = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private CryptUtils() {
         // Construtor privado para impedir instânciação
     }
@@ -33,6 +45,119 @@ public class CryptUtils {
         }
     }
 
+    /**
+     * Gera o hash PBKDF2 (HMAC-SHA256) da senha com um salt aleatório, no formato
+     * {@code pbkdf2$<iterações>$<salt>$<hash>} (salt e hash em Base64).
+     *
+     * @param password   A senha.
+     * @param iterations O número de iterações (fator de trabalho).
+     * @return O hash da senha.
+     */
+    public static String hashPassword(String password, int iterations) {
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PBKDF2_PREFIX + "$" + iterations + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(pbkdf2(password, salt, iterations));
+    }
+
+    /**
+     * Verifica a senha contra um hash gerado por {@link #hashPassword} ou, para
+     * senhas antigas, pelo SHA-256 de {@link #encrypt}. A comparação é feita em
+     * tempo constante. Um hash PBKDF2 malformado nunca corresponde.
+     *
+     * @param password   A senha informada.
+     * @param storedHash O hash armazenado.
+     * @return true se a senha corresponder ao hash.
+     */
+    public static boolean verifyPassword(String password, String storedHash) {
+        if (password == null || storedHash == null) {
+            return false;
+        }
+        if (!isPbkdf2(storedHash)) {
+            return MessageDigest.isEqual(encrypt(password).getBytes(StandardCharsets.US_ASCII),
+                    storedHash.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        String[] parts = storedHash.split("\\$");
+        int iterations = parts.length == 4 ? parseIterations(parts[1]) : -1;
+        if (iterations <= 0) {
+            return false;
+        }
+        Base64.Decoder base64 = Base64.getDecoder();
+        try {
+            byte[] expected = base64.decode(parts[3]);
+            byte[] actual = pbkdf2(password, base64.decode(parts[2]), iterations);
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            // Salt or hash is not valid Base64
+            return false;
+        }
+    }
+
+    /**
+     * Indica se o hash deve ser regerado: hashes SHA-256 antigos, malformados ou
+     * gerados com outro número de iterações.
+     *
+     * @param storedHash O hash armazenado.
+     * @param iterations O número de iterações atual.
+     * @return true se o hash estiver desatualizado.
+     */
+    public static boolean needsRehash(String storedHash, int iterations) {
+        if (!isPbkdf2(storedHash)) {
+            return true;
+        }
+        String[] parts = storedHash.split("\\$");
+        return parts.length != 4 || parseIterations(parts[1]) != iterations;
+    }
+
+    /**
+     * Estima o número de iterações PBKDF2 para que uma verificação leve o tempo
+     * informado neste hardware, arredondado para múltiplos de 10.000.
+     *
+     * @param target O tempo desejado por verificação.
+     * @return O número de iterações recomendado.
+     */
+    public static int calibrateIterations(Duration target) {
+        int probe = 20_000;
+        byte[] salt = new byte[SALT_LENGTH];
+        // Warm-up so the measurement runs on compiled code
+        for (int i = 0; i < 5; i++) {
+            pbkdf2("calibration", salt, probe);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            pbkdf2("calibration", salt, probe);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        long iterations = target.toNanos() * probe / Math.max(best, 1);
+        return (int) Math.max(10_000, Math.min(Integer.MAX_VALUE, Math.round(iterations / 10_000.0) * 10_000));
+    }
+
+    private static int parseIterations(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isPbkdf2(String storedHash) {
+        return storedHash != null && storedHash.startsWith(PBKDF2_PREFIX + "$");
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_LENGTH);
+        try {
+            return SecretKeyFactory.getInstance(PBKDF2_ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Erro ao gerar hash da senha: algoritmo " + PBKDF2_ALGORITHM + " indisponível", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
     private static String bytesToHex(byte[] hash) {
         StringBuilder hexString = new StringBuilder(2 * hash.length);
         for (byte b : hash) {
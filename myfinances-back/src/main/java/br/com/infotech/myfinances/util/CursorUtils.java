@@ -0,0 +1,73 @@
+package br.com.infotech.myfinances.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Utilitário para os cursores da paginação por chave: os valores das chaves de
+ * ordenação do último item de uma página, codificados em um token opaco
+ * (Base64 URL-safe).
+ */
+public class CursorUtils {
+
+    private static final int VERSION = 1;
+
+    private CursorUtils() {
+        // Construtor privado para impedir instânciação
+    }
+
+    /**
+     * Codifica os valores das chaves de ordenação em um cursor.
+     *
+     * @param values Os valores, na ordem das chaves; não podem ser nulos.
+     * @return O cursor.
+     */
+    public static String encode(List<String> values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(values.size());
+            for (String value : values) {
+                out.writeUTF(value);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decodifica um cursor gerado por {@link #encode(List)}.
+     *
+     * @param cursor O cursor.
+     * @param size   A quantidade de chaves esperada.
+     * @return Os valores das chaves.
+     * @throws IllegalArgumentException se o cursor for inválido ou tiver outra
+     *                                  quantidade de chaves.
+     */
+    public static List<String> decode(String cursor, int size) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (in.readUnsignedByte() != VERSION || in.readUnsignedByte() != size) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(in.readUTF());
+            }
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return values;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.infotech.myfinances.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DescriptionCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 30);
+
+    private final DescriptionCache descriptionCache = new DescriptionCache(Duration.ofMinutes(1), 100);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void update_WhenIndexWasLoadedBeforeTheWrite_ShouldApplyTheChangeAfterCommit() {
+        load(List.of(new DescriptionIndex.Usage("Padaria", 1, TODAY)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        descriptionCache.update(1L, index -> index.add("Mercado", TODAY));
+        assertEquals(List.of("Padaria"), suggestions());
+        commit();
+
+        assertEquals(List.of("Mercado", "Padaria"), suggestions());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void update_WhenIndexWasLoadedDuringTheWrite_ShouldDropItInsteadOfCountingTheRowTwice() {
+        TransactionSynchronizationManager.initSynchronization();
+        descriptionCache.update(1L, index -> index.add("Mercado", TODAY));
+        // The load runs between the write and its commit and may already see the row
+        load(List.of(new DescriptionIndex.Usage("Mercado", 1, TODAY)));
+        commit();
+
+        DescriptionIndex index = load(List.of(new DescriptionIndex.Usage("Mercado", 1, TODAY)));
+        index.remove("Mercado");
+
+        assertEquals(2, loads.get());
+        assertTrue(index.suggest("mer", 10, TODAY).isEmpty());
+    }
+
+    @Test
+    void evict_ShouldDropTheIndexAgainAfterCommit() {
+        load(List.of(new DescriptionIndex.Usage("Padaria", 1, TODAY)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        descriptionCache.evict(1L);
+        load(List.of());
+        commit();
+        load(List.of(new DescriptionIndex.Usage("Mercado", 1, TODAY)));
+
+        assertEquals(3, loads.get());
+        assertEquals(List.of("Mercado"), suggestions());
+    }
+
+    private DescriptionIndex load(List<DescriptionIndex.Usage> usages) {
+        return descriptionCache.get(1L, userId -> {
+            loads.incrementAndGet();
+            return usages;
+        });
+    }
+
+    private List<String> suggestions() {
+        return descriptionCache.get(1L, userId -> fail("Index should be cached")).suggest(null, 10, TODAY);
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.infotech.myfinances.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DescriptionIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 30);
+
+    private final DescriptionIndex index = new DescriptionIndex(List.of(
+            new DescriptionIndex.Usage("Padaria", 10, TODAY.minusDays(1)),
+            new DescriptionIndex.Usage("Pão de Açúcar", 12, TODAY.minusYears(1)),
+            new DescriptionIndex.Usage("PADARIA", 2, TODAY),
+            new DescriptionIndex.Usage("Posto", 3, TODAY.minusDays(2)),
+            new DescriptionIndex.Usage("Aluguel", 1, TODAY)));
+
+    @Test
+    void suggest_ShouldMatchPrefixIgnoringCaseRankedByFrequencyAndRecency() {
+        // "Pão de Açúcar" is used more, but a year ago
+        assertEquals(List.of("PADARIA", "Posto", "Pão de Açúcar"), index.suggest("p", 10, TODAY));
+        assertEquals(List.of("PADARIA"), index.suggest(" pad", 10, TODAY));
+        assertTrue(index.suggest("mercado", 10, TODAY).isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void suggest_ShouldHonorLimitAndAcceptEmptyPrefix() {
+        assertEquals(List.of("PADARIA", "Posto"), index.suggest(null, 2, TODAY));
+    }
+
+    @Test
+    void addAndRemove_ShouldUpdateIncrementally() {
+        index.add("Mercado", TODAY);
+        index.add("mercado", TODAY);
+        assertEquals(List.of("mercado"), index.suggest("mer", 10, TODAY));
+
+        index.remove("MERCADO");
+        assertEquals(List.of("mercado"), index.suggest("mer", 10, TODAY));
+        index.remove("mercado");
+        assertTrue(index.suggest("mer", 10, TODAY).isEmpty());
+
+        index.add("", TODAY);
+        index.remove(null);
+        assertEquals(4, index.size());
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.infotech.myfinances.cache;
+
+import br.com.infotech.myfinances.domain.TransactionType;
+import br.com.infotech.myfinances.domain.TransactionTypeType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionTypeCacheTest {
+
+    private final TransactionTypeCache transactionTypeCache = new TransactionTypeCache(Duration.ofMinutes(1), 100);
+
+    @Test
+    void get_WhenCalledTwice_ShouldLoadOnceAndIndexById() {
+        AtomicInteger loads = new AtomicInteger();
+        TransactionType salary = TransactionType.builder().id(10L).type(TransactionTypeType.INCOME).build();
+        TransactionType rent = TransactionType.builder().id(20L).type(TransactionTypeType.EXPENSE).build();
+
+        transactionTypeCache.get(1L, userId -> {
+            loads.incrementAndGet();
+            return List.of(salary, rent);
+        });
+        Map<Long, TransactionType> result = transactionTypeCache.get(1L, userId -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        assertEquals(1, loads.get());
+        assertSame(salary, result.get(10L));
+        assertSame(rent, result.get(20L));
+    }
+
+    @Test
+    void evict_ShouldOnlyReloadThatUser() {
+        AtomicInteger loads = new AtomicInteger();
+
+        transactionTypeCache.get(1L, userId -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        transactionTypeCache.get(2L, userId -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        transactionTypeCache.evict(1L);
+        transactionTypeCache.get(1L, userId -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        transactionTypeCache.get(2L, userId -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        assertEquals(3, loads.get());
+    }
+}
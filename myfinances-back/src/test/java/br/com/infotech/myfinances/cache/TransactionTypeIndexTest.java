@@ -0,0 +1,70 @@
+package br.com.infotech.myfinances.cache;
+
+import br.com.infotech.myfinances.domain.TransactionType;
+import br.com.infotech.myfinances.domain.TransactionTypeStatus;
+import br.com.infotech.myfinances.domain.TransactionTypeType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionTypeIndexTest {
+
+    private static final List<TransactionTypeType> ALL = List.of(TransactionTypeType.values());
+
+    private final TransactionTypeIndex index = new TransactionTypeIndex(List.of(
+            type(1L, "Supermercado", TransactionTypeType.EXPENSE, TransactionTypeStatus.ACTIVE),
+            type(2L, "Salário", TransactionTypeType.INCOME, TransactionTypeStatus.ACTIVE),
+            type(3L, "Mercado Livre", TransactionTypeType.EXPENSE, TransactionTypeStatus.ACTIVE),
+            type(4L, "Mercearia", TransactionTypeType.EXPENSE, TransactionTypeStatus.DELETED),
+            type(5L, "Ágio", TransactionTypeType.INCOME, TransactionTypeStatus.ACTIVE)));
+
+    @Test
+    void search_ShouldMatchSubstringIgnoringCaseInDescriptionOrder() {
+        assertEquals(List.of(3L, 1L), ids(index.search("MERCADO", ALL)));
+        assertEquals(List.of(3L), ids(index.search("ado liv", ALL)));
+        assertTrue(index.search("mercadinho", ALL).isEmpty());
+    }
+
+    @Test
+    void search_ShouldSkipInactiveAndFilterByType() {
+        assertTrue(index.search("merce", ALL).isEmpty());
+        assertEquals(List.of(2L), ids(index.search("sal", List.of(TransactionTypeType.INCOME))));
+        assertTrue(index.search("mercado", List.of(TransactionTypeType.INCOME)).isEmpty());
+    }
+
+    @Test
+    void search_WithShortOrEmptyTerm_ShouldScan() {
+        assertEquals(List.of(5L, 3L, 2L, 1L), ids(index.search(null, ALL)));
+        assertEquals(List.of(3L, 1L), ids(index.search("me", ALL)));
+    }
+
+    @Test
+    void byId_ShouldKeepEveryStatus() {
+        assertEquals(5, index.byId().size());
+        assertEquals(TransactionTypeStatus.DELETED, index.byId().get(4L).getStatus());
+    }
+
+    @Test
+    void descriptionOrder_ShouldRankInactiveTypesToo() {
+        List<TransactionType> all = new java.util.ArrayList<>(index.byId().values());
+        all.sort(index.descriptionOrder());
+        assertEquals(List.of(5L, 3L, 4L, 2L, 1L), ids(all));
+    }
+
+    private static List<Long> ids(List<TransactionType> types) {
+        return types.stream().map(TransactionType::getId).toList();
+    }
+
+    private static TransactionType type(Long id, String description, TransactionTypeType type,
+            TransactionTypeStatus status) {
+        return TransactionType.builder()
+                .id(id)
+                .description(description)
+                .type(type)
+                .recurring(false)
+                .status(status)
+                .build();
+    }
+}
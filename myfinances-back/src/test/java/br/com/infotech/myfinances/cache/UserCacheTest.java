@@ -0,0 +1,71 @@
+package br.com.infotech.myfinances.cache;
+
+import br.com.infotech.myfinances.domain.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheTest {
+
+    private final UserCache userCache = new UserCache(Duration.ofMinutes(1), 100);
+
+    @Test
+    void get_WhenCalledTwice_ShouldLoadOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        User user = User.builder().login("user@infotech.com").build();
+
+        userCache.get("user@infotech.com", login -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+        Optional<User> result = userCache.get("user@infotech.com", login -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+
+        assertTrue(result.isPresent());
+        assertEquals(1, loads.get());
+        assertEquals(1, userCache.stats().hits());
+        assertEquals(1, userCache.stats().misses());
+    }
+
+    @Test
+    void get_WhenUserNotFound_ShouldNotCacheAbsence() {
+        AtomicInteger loads = new AtomicInteger();
+
+        userCache.get("unknown", login -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<User> result = userCache.get("unknown", login -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertTrue(result.isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_ShouldForceReload() {
+        AtomicInteger loads = new AtomicInteger();
+        User user = User.builder().login("user@infotech.com").build();
+
+        userCache.get("user@infotech.com", login -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+        userCache.evict("user@infotech.com");
+        userCache.get("user@infotech.com", login -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals(1, userCache.stats().invalidations());
+    }
+}
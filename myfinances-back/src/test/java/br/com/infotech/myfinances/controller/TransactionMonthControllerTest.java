@@ -0,0 +1,273 @@
+package br.com.infotech.myfinances.controller;
+
+import br.com.infotech.myfinances.dto.TransactionDeltaDto;
+import br.com.infotech.myfinances.dto.TransactionDto;
+import br.com.infotech.myfinances.dto.TransactionMonthDto;
+import br.com.infotech.myfinances.dto.TransactionMonthStateDto;
+import br.com.infotech.myfinances.dto.TransactionMonthSummaryDto;
+import br.com.infotech.myfinances.service.TransactionExportService;
+import br.com.infotech.myfinances.service.TransactionImportService;
+import br.com.infotech.myfinances.service.TransactionMonthService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionMonthControllerTest {
+
+    private static final String SNAPSHOT = "{\"id\":7,\"status\":\"CLOSED\",\"version\":4}";
+
+    private static final String ROW = "{\"day\":5,\"transactionTypeId\":3,\"amount\":10.00,\"status\":\"PENDING\"}";
+
+    @Mock
+    private TransactionMonthService transactionMonthService;
+
+    @Mock
+    private TransactionImportService transactionImportService;
+
+    @Mock
+    private TransactionExportService transactionExportService;
+
+    @InjectMocks
+    private TransactionMonthController transactionMonthController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(transactionMonthController).build();
+    }
+
+    @Test
+    void addTransaction_WithDeltaMediaType_ShouldReturnOnlyTheRowAndVersion() throws Exception {
+        when(transactionMonthService.addTransactionDelta(eq(7L), any())).thenReturn(delta(false));
+
+        mockMvc.perform(post("/transaction-months/7/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(TransactionDeltaDto.MEDIA_TYPE)
+                        .content(ROW))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TransactionDeltaDto.MEDIA_TYPE))
+                .andExpect(jsonPath("$.monthId").value(7))
+                .andExpect(jsonPath("$.version").value(4))
+                .andExpect(jsonPath("$.deleted").value(false))
+                .andExpect(jsonPath("$.transaction.id").value(11))
+                .andExpect(jsonPath("$.summary.closingBalance").value(-10.0))
+                .andExpect(jsonPath("$.transactions").doesNotExist());
+
+        verify(transactionMonthService, never()).addTransaction(anyLong(), any());
+    }
+
+    @Test
+    void addTransaction_WithoutDeltaMediaType_ShouldReturnTheFullMonth() throws Exception {
+        when(transactionMonthService.addTransaction(eq(7L), any())).thenReturn(month());
+
+        mockMvc.perform(post("/transaction-months/7/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(ROW))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.transactions[0].id").value(11));
+
+        verify(transactionMonthService, never()).addTransactionDelta(anyLong(), any());
+    }
+
+    @Test
+    void updateTransaction_WithDeltaMediaType_ShouldReturnTheChangedRow() throws Exception {
+        when(transactionMonthService.updateTransactionDelta(eq(11L), any())).thenReturn(delta(false));
+
+        mockMvc.perform(put("/transaction-months/transactions/11")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(TransactionDeltaDto.MEDIA_TYPE)
+                        .content(ROW))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TransactionDeltaDto.MEDIA_TYPE))
+                .andExpect(jsonPath("$.transaction.id").value(11));
+
+        verify(transactionMonthService, never()).updateTransaction(anyLong(), any());
+    }
+
+    @Test
+    void deleteTransaction_WithDeltaMediaType_ShouldFlagTheRowAsDeleted() throws Exception {
+        when(transactionMonthService.deleteTransactionDelta(11L)).thenReturn(delta(true));
+
+        mockMvc.perform(delete("/transaction-months/transactions/11")
+                        .accept(TransactionDeltaDto.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TransactionDeltaDto.MEDIA_TYPE))
+                .andExpect(jsonPath("$.deleted").value(true))
+                .andExpect(jsonPath("$.transaction.id").value(11));
+
+        verify(transactionMonthService, never()).deleteTransaction(anyLong());
+    }
+
+    @Test
+    void getOrCreateMonth_WhenETagMatches_ShouldAnswer304WithoutLoadingTheMonth() throws Exception {
+        when(transactionMonthService.findMonthState(3, 2025)).thenReturn(Optional.of(state(null)));
+
+        mockMvc.perform(get("/transaction-months/2025/3").header(HttpHeaders.IF_NONE_MATCH, "\"7-4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-4\""))
+                .andExpect(content().string(""));
+
+        verify(transactionMonthService, never()).getOrCreateMonth(any(), any());
+    }
+
+    @Test
+    void getOrCreateMonth_WhenETagIsStale_ShouldReturnTheMonthWithTheCurrentETag() throws Exception {
+        when(transactionMonthService.findMonthState(3, 2025)).thenReturn(Optional.of(state(null)));
+        when(transactionMonthService.getOrCreateMonth(3, 2025)).thenReturn(month());
+
+        mockMvc.perform(get("/transaction-months/2025/3").header(HttpHeaders.IF_NONE_MATCH, "\"7-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-4\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void getOrCreateMonth_WhenMonthDoesNotExist_ShouldCreateItAndReturnItsETag() throws Exception {
+        when(transactionMonthService.findMonthState(3, 2025)).thenReturn(Optional.empty());
+        when(transactionMonthService.getOrCreateMonth(3, 2025)).thenReturn(month());
+
+        mockMvc.perform(get("/transaction-months/2025/3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-4\""))
+                .andExpect(jsonPath("$.id").value(7));
+    }
+
+    @Test
+    void getOrCreateMonth_WhenClosed_ShouldServeTheSnapshotRevalidatedByETag() throws Exception {
+        when(transactionMonthService.findMonthState(3, 2025)).thenReturn(Optional.of(state(SNAPSHOT)));
+
+        mockMvc.perform(get("/transaction-months/2025/3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-4\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(SNAPSHOT));
+
+        mockMvc.perform(get("/transaction-months/2025/3").header(HttpHeaders.IF_NONE_MATCH, "\"7-4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(transactionMonthService, never()).getOrCreateMonth(any(), any());
+    }
+
+    @Test
+    void getOrCreateMonth_AfterReopen_ShouldReplaceTheCachedSnapshot() throws Exception {
+        // Reopening bumped the version from 4 to 5 and dropped the snapshot
+        when(transactionMonthService.findMonthState(3, 2025)).thenReturn(Optional.of(state(null, 5L)));
+        when(transactionMonthService.getOrCreateMonth(3, 2025)).thenReturn(month(5L));
+
+        mockMvc.perform(get("/transaction-months/2025/3").header(HttpHeaders.IF_NONE_MATCH, "\"7-4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-5\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.status").value("OPEN"))
+                .andExpect(jsonPath("$.version").value(5));
+    }
+
+    @Test
+    void getOrCreateMonth_WhenClosedAgain_ShouldServeTheNewSnapshot() throws Exception {
+        // Closed, reopened and closed again: version 6 with a new snapshot
+        when(transactionMonthService.findMonthState(3, 2025)).thenReturn(Optional.of(state(SNAPSHOT, 6L)));
+
+        mockMvc.perform(get("/transaction-months/2025/3").header(HttpHeaders.IF_NONE_MATCH, "\"7-4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-6\""))
+                .andExpect(content().string(SNAPSHOT));
+    }
+
+    @Test
+    void reopenMonth_ShouldReturnTheOpenMonth() throws Exception {
+        when(transactionMonthService.reopenMonth(7L)).thenReturn(month(5L));
+
+        mockMvc.perform(post("/transaction-months/7/reopen"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("OPEN"))
+                .andExpect(jsonPath("$.version").value(5));
+    }
+
+    private static TransactionMonthStateDto state(String snapshot) {
+        return state(snapshot, 4L);
+    }
+
+    private static TransactionMonthStateDto state(String snapshot, Long version) {
+        return TransactionMonthStateDto.builder()
+                .id(7L)
+                .version(version)
+                .status(snapshot == null ? "OPEN" : "CLOSED")
+                .snapshot(snapshot)
+                .build();
+    }
+
+    private static TransactionDeltaDto delta(boolean deleted) {
+        return TransactionDeltaDto.builder()
+                .monthId(7L)
+                .version(4L)
+                .deleted(deleted)
+                .transaction(row())
+                .summary(summary())
+                .build();
+    }
+
+    private static TransactionMonthDto month() {
+        return month(4L);
+    }
+
+    private static TransactionMonthDto month(Long version) {
+        return TransactionMonthDto.builder()
+                .id(7L)
+                .month(3)
+                .year(2025)
+                .status("OPEN")
+                .initialBalance(BigDecimal.ZERO)
+                .carryOver(false)
+                .version(version)
+                .summary(summary())
+                .transactions(List.of(row()))
+                .build();
+    }
+
+    private static TransactionDto row() {
+        return TransactionDto.builder().id(11L).day(5).transactionTypeId(3L).amount(new BigDecimal("10.00")).build();
+    }
+
+    private static TransactionMonthSummaryDto summary() {
+        return TransactionMonthSummaryDto.builder()
+                .incomeCompleted(BigDecimal.ZERO)
+                .incomePending(BigDecimal.ZERO)
+                .expenseCompleted(BigDecimal.ZERO)
+                .expensePending(new BigDecimal("10.00"))
+                .closingBalance(new BigDecimal("-10.00"))
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.infotech.myfinances.datasource;
+
+import br.com.infotech.myfinances.context.UserContext;
+import br.com.infotech.myfinances.domain.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final RecentWriteTracker tracker = new RecentWriteTracker(Duration.ofMinutes(1), 100);
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        dataSource = new ReplicaRoutingDataSource(primary, replica, tracker);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        UserContext.setCurrentUser(request, User.builder().id(1L).login("user@infotech.com").build());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getConnection_WithoutRecentWrite_ShouldUseReplica() throws SQLException {
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_AfterCommittedWrite_ShouldUsePrimary() throws SQLException {
+        TransactionExecution write = mock(TransactionExecution.class);
+        when(write.isReadOnly()).thenReturn(false);
+
+        tracker.afterCommit(write, null);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_AfterReadOnlyOrFailedCommit_ShouldUseReplica() throws SQLException {
+        TransactionExecution read = mock(TransactionExecution.class);
+        when(read.isReadOnly()).thenReturn(true);
+        TransactionExecution write = mock(TransactionExecution.class);
+
+        tracker.afterCommit(read, null);
+        tracker.afterCommit(write, new IllegalStateException());
+
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_OutsideRequest_ShouldUseReplica() throws SQLException {
+        tracker.markWrite(1L);
+        RequestContextHolder.resetRequestAttributes();
+
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.infotech.myfinances.filter;
+
+import br.com.infotech.myfinances.metrics.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry);
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void doFilter_ShouldRecordStatementsOfEachRequestByEndpoint() throws Exception {
+        filter.doFilter(request("GET"), new MockHttpServletResponse(), statements(3));
+        filter.doFilter(request("GET"), new MockHttpServletResponse(), statements(1));
+        filter.doFilter(request("POST"), new MockHttpServletResponse(), statements(0));
+
+        DistributionSummary get = summary("GET");
+        assertEquals(2, get.count());
+        assertEquals(4, get.totalAmount());
+        assertEquals(3, get.max());
+        DistributionSummary post = summary("POST");
+        assertEquals(1, post.count());
+        assertEquals(0, post.totalAmount());
+    }
+
+    @Test
+    void doFilter_WhenChainFails_ShouldStillRecordTheStatements() {
+        FilterChain failing = (req, res) -> {
+            statements(2).doFilter(req, res);
+            throw new IllegalStateException("boom");
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request("GET"), new MockHttpServletResponse(), failing));
+
+        assertEquals(2, summary("GET").totalAmount());
+    }
+
+    @Test
+    void inspect_OutsideARequest_ShouldReturnTheStatementUnchanged() {
+        assertEquals("select 1", counter.inspect("select 1"));
+    }
+
+    private static MockHttpServletRequest request(String method) {
+        return new MockHttpServletRequest(method, "/transaction-months/2025/3");
+    }
+
+    /**
+     * Chain that issues the given number of statements, as Hibernate would while
+     * handling the request, and sets the matched pattern like the DispatcherServlet.
+     */
+    private FilterChain statements(int count) {
+        return (req, res) -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes((MockHttpServletRequest) req));
+            for (int i = 0; i < count; i++) {
+                counter.inspect("select " + i);
+            }
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/transaction-months/{year}/{month}");
+        };
+    }
+
+    private DistributionSummary summary(String method) {
+        return meterRegistry.get("myfinances.http.sql.statements")
+                .tag("method", method)
+                .tag("uri", "/transaction-months/{year}/{month}")
+                .summary();
+    }
+}
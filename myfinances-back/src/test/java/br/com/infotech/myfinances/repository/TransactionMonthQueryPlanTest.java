@@ -0,0 +1,112 @@
+package br.com.infotech.myfinances.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica o plano da consulta de transações do mês em um PostgreSQL real.
+ * Executado apenas quando MF_TEST_DB_URL aponta para um banco descartável;
+ * as migrações de flyway/common são aplicadas e os dados semeados são
+ * descartados com rollback ao final.
+ */
+@EnabledIfEnvironmentVariable(named = "MF_TEST_DB_URL", matches = ".+")
+class TransactionMonthQueryPlanTest {
+
+    // SQL of TransactionRepository#findRowsByTransactionMonthId, which the month view runs
+    private static final String MONTH_QUERY = "SELECT t.id, EXTRACT(DAY FROM t.transaction_date), " +
+            "t.transaction_type_id, NULL, t.description, t.amount, t.status, t.remark " +
+            "FROM transaction t " +
+            "WHERE t.transaction_month_id = ? " +
+            "ORDER BY t.transaction_date, t.id";
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String url = System.getenv("MF_TEST_DB_URL");
+        String user = System.getenv("MF_TEST_DB_USER");
+        String password = System.getenv("MF_TEST_DB_PASSWORD");
+
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("filesystem:../flyway/common")
+                .outOfOrder(true)
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(url, user, password);
+        connection.setAutoCommit(false);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.rollback();
+        connection.close();
+    }
+
+    @Test
+    void monthQuery_ShouldUseMonthDateIndexInsteadOfSeqScan() throws Exception {
+        long monthId = seed(200, 50);
+
+        String plan = explain(monthId);
+
+        assertTrue(plan.contains("idx_transaction_month_date"), plan);
+        assertFalse(plan.contains("Seq Scan on transaction "), plan);
+        assertFalse(plan.contains("transaction_type"), plan);
+    }
+
+    private long seed(int months, int rowsPerMonth) throws Exception {
+        try (Statement st = connection.createStatement()) {
+            st.execute("INSERT INTO \"user\" (login, name, password, status, type) " +
+                    "VALUES ('plan-test@myfinances.com', 'Plan Test', 'x', 'ACTIVE', 'USER')");
+            st.execute("INSERT INTO transaction_type (user_id, type, description, recurring) " +
+                    "SELECT id, v.type, v.type, false FROM \"user\", (VALUES ('INCOME'), ('EXPENSE')) v(type) " +
+                    "WHERE login = 'plan-test@myfinances.com'");
+            st.execute("INSERT INTO transaction_month (user_id, month, year) " +
+                    "SELECT id, 1 + g % 12, 1900 + g / 12 FROM \"user\", generate_series(0, " + (months - 1) + ") g " +
+                    "WHERE login = 'plan-test@myfinances.com'");
+            st.execute("INSERT INTO transaction (user_id, transaction_type_id, transaction_month_id, " +
+                    "transaction_date, description, amount, status, created_at) " +
+                    "SELECT m.user_id, tt.id, m.id, make_date(m.year, m.month, 1 + g % 28), 'row', g, 'PENDING', now() " +
+                    "FROM transaction_month m " +
+                    "JOIN transaction_type tt ON tt.user_id = m.user_id AND tt.type = " +
+                    "CASE WHEN random() < 0.5 THEN 'INCOME' ELSE 'EXPENSE' END, " +
+                    "generate_series(1, " + rowsPerMonth + ") g " +
+                    "WHERE m.year >= 1900 AND m.year < 2000");
+            st.execute("ANALYZE transaction");
+            st.execute("ANALYZE transaction_month");
+            st.execute("ANALYZE transaction_type");
+        }
+        try (Statement st = connection.createStatement();
+                ResultSet rs = st.executeQuery("SELECT m.id FROM transaction_month m " +
+                        "JOIN \"user\" u ON u.id = m.user_id " +
+                        "WHERE u.login = 'plan-test@myfinances.com' ORDER BY m.id LIMIT 1 OFFSET " + (months / 2))) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private String explain(long monthId) throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + MONTH_QUERY)) {
+            ps.setLong(1, monthId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.infotech.myfinances.repository;
+
+import br.com.infotech.myfinances.domain.TransactionMonth;
+import br.com.infotech.myfinances.domain.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Executa as consultas do {@link TransactionMonthRepository} em um PostgreSQL
+ * real. Executado apenas quando MF_TEST_DB_URL aponta para um banco descartável;
+ * cada teste é desfeito com rollback ao final.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "MF_TEST_DB_URL", matches = ".+")
+class TransactionMonthRepositoryTest {
+
+    @Autowired
+    private TransactionMonthRepository transactionMonthRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private long userId;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("MF_TEST_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv("MF_TEST_DB_USER"));
+        registry.add("spring.datasource.password", () -> System.getenv("MF_TEST_DB_PASSWORD"));
+        registry.add("spring.flyway.locations", () -> "filesystem:../flyway/common");
+        registry.add("spring.flyway.out-of-order", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbc.queryForObject("INSERT INTO \"user\" (login, name, password, status, type, " +
+                "change_pwd_on_login) VALUES ('month-repository-test@myfinances.com', 'Month Repository Test', " +
+                "'x', 'ACTIVE', 'USER', false) RETURNING id", Long.class);
+    }
+
+    @Test
+    void propagateBalance_ShouldStopAtFirstMonthThatDoesNotCarryOver() {
+        insertMonth(1, false, "OPEN");
+        insertMonth(2, true, "OPEN");
+        insertMonth(3, true, "OPEN");
+        insertMonth(4, false, "OPEN");
+        insertMonth(5, true, "OPEN");
+
+        int updated = transactionMonthRepository.propagateBalance(userId, 2025 * 12 + 1, new BigDecimal("10.00"));
+
+        assertEquals(2, updated);
+        assertEquals(List.of("0.00", "10.00", "10.00", "0.00", "0.00"), initialBalances());
+        assertEquals(List.of("0.00", "10.00", "10.00", "0.00", "0.00"), closingBalances());
+    }
+
+    @Test
+    void propagateBalance_ShouldStopAtClosedMonth() {
+        insertMonth(1, false, "OPEN");
+        insertMonth(2, true, "OPEN");
+        insertMonth(3, true, "CLOSED");
+        insertMonth(4, true, "OPEN");
+
+        int updated = transactionMonthRepository.propagateBalance(userId, 2025 * 12 + 1, new BigDecimal("-5.00"));
+
+        assertEquals(1, updated);
+        assertEquals(List.of("0.00", "-5.00", "0.00", "0.00"), initialBalances());
+    }
+
+    @Test
+    void propagateBalance_ShouldCrossYearBoundaries() {
+        insertMonth(2024, 12, false, "OPEN");
+        insertMonth(1, true, "OPEN");
+
+        transactionMonthRepository.propagateBalance(userId, 2024 * 12 + 12, new BigDecimal("7.50"));
+
+        assertEquals(List.of("0.00", "7.50"), initialBalances());
+    }
+
+    @Test
+    void propagateBalance_ShouldCarryBalancesAsWideAsTheClosingBalance() {
+        insertMonth(1, false, "OPEN");
+        insertMonth(2, true, "OPEN");
+
+        transactionMonthRepository.propagateBalance(userId, 2025 * 12 + 1, new BigDecimal("150000000.00"));
+
+        assertEquals(List.of("0.00", "150000000.00"), initialBalances());
+        assertEquals(List.of("0.00", "150000000.00"), closingBalances());
+    }
+
+    @Test
+    void findPreviousForShare_ShouldReturnLatestEarlierMonth() {
+        insertMonth(2024, 11, false, "OPEN");
+        insertMonth(2024, 12, false, "OPEN");
+        insertMonth(2, false, "OPEN");
+        User user = entityManager.find(User.class, userId);
+
+        Optional<TransactionMonth> previous = transactionMonthRepository.findPreviousForShare(user, 2, 2025);
+
+        assertTrue(previous.isPresent());
+        assertEquals(2024, previous.get().getYear());
+        assertEquals(12, previous.get().getMonth());
+        assertTrue(transactionMonthRepository.findPreviousForShare(user, 11, 2024).isEmpty());
+    }
+
+    @Test
+    void closeAndReopen_ShouldStoreThenDropTheSnapshotBumpingTheVersion() {
+        insertMonth(3, false, "OPEN");
+        long monthId = jdbc.queryForObject("SELECT id FROM transaction_month WHERE user_id = ?", Long.class, userId);
+        long version = transactionMonthRepository.findState(userId, 3, 2025).orElseThrow().getVersion();
+
+        transactionMonthRepository.close(monthId, "{\"id\":" + monthId + "}");
+        TransactionMonthState closed = transactionMonthRepository.findState(userId, 3, 2025).orElseThrow();
+        transactionMonthRepository.reopen(monthId);
+        TransactionMonthState reopened = transactionMonthRepository.findState(userId, 3, 2025).orElseThrow();
+
+        assertEquals("CLOSED", closed.getStatus());
+        assertEquals("{\"id\":" + monthId + "}", closed.getSnapshot());
+        assertEquals(version + 1, closed.getVersion());
+        assertEquals("OPEN", reopened.getStatus());
+        assertNull(reopened.getSnapshot());
+        assertEquals(version + 2, reopened.getVersion());
+    }
+
+    private void insertMonth(int month, boolean carryOver, String status) {
+        insertMonth(2025, month, carryOver, status);
+    }
+
+    private void insertMonth(int year, int month, boolean carryOver, String status) {
+        jdbc.update("INSERT INTO transaction_month (user_id, month, year, status, carry_over, initial_balance, " +
+                "closing_balance) VALUES (?, ?, ?, ?, ?, 0, 0)", userId, month, year, status, carryOver);
+    }
+
+    private List<String> initialBalances() {
+        return balances("initial_balance");
+    }
+
+    private List<String> closingBalances() {
+        return balances("closing_balance");
+    }
+
+    private List<String> balances(String column) {
+        return jdbc.queryForList("SELECT " + column + " FROM transaction_month WHERE user_id = ? " +
+                "ORDER BY year, month", BigDecimal.class, userId).stream()
+                .map(BigDecimal::toPlainString)
+                .toList();
+    }
+}
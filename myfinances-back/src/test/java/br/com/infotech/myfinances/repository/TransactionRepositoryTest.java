@@ -0,0 +1,220 @@
+package br.com.infotech.myfinances.repository;
+
+import br.com.infotech.myfinances.domain.TransactionStatus;
+import br.com.infotech.myfinances.domain.TransactionTypeType;
+import br.com.infotech.myfinances.domain.User;
+import br.com.infotech.myfinances.dto.TransactionDto;
+import br.com.infotech.myfinances.dto.TransactionReportTypeDto;
+import br.com.infotech.myfinances.metrics.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Executa as consultas do {@link TransactionRepository} em um PostgreSQL real.
+ * Executado apenas quando MF_TEST_DB_URL aponta para um banco descartável; cada
+ * teste é desfeito com rollback ao final.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "MF_TEST_DB_URL", matches = ".+")
+class TransactionRepositoryTest {
+
+    private static final String LOGIN = "repository-test@myfinances.com";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private long userId;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("MF_TEST_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv("MF_TEST_DB_USER"));
+        registry.add("spring.datasource.password", () -> System.getenv("MF_TEST_DB_PASSWORD"));
+        registry.add("spring.flyway.locations", () -> "filesystem:../flyway/common");
+        registry.add("spring.flyway.out-of-order", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @BeforeEach
+    void setUp() {
+        userId = insertUser(LOGIN);
+    }
+
+    @Test
+    void insertRecurringTransactions_ShouldCapDefaultDayAndSkipOtherTypes() {
+        long rent = insertType(userId, "EXPENSE", "Aluguel", true, 31, "ACTIVE");
+        long salary = insertType(userId, "INCOME", "Salário", true, null, "ACTIVE");
+        insertType(userId, "EXPENSE", "Mercado", false, 10, "ACTIVE");
+        insertType(userId, "EXPENSE", "Academia", true, 15, "INACTIVE");
+        long otherUser = insertUser("repository-test-other@myfinances.com");
+        insertType(otherUser, "EXPENSE", "Aluguel", true, 5, "ACTIVE");
+        long monthId = insertMonth(userId, 2, 2025);
+
+        int inserted = transactionRepository.insertRecurringTransactions(userId, monthId, 2025, 2, 28);
+
+        assertEquals(2, inserted);
+        List<Map<String, Object>> rows = jdbc.queryForList("SELECT transaction_type_id, transaction_date, " +
+                "description, amount, status FROM transaction WHERE transaction_month_id = ? " +
+                "ORDER BY transaction_date", monthId);
+        assertEquals(List.of(salary, rent), rows.stream()
+                .map(r -> ((Number) r.get("transaction_type_id")).longValue())
+                .toList());
+        assertEquals(LocalDate.of(2025, 2, 1), ((Date) rows.get(0).get("transaction_date")).toLocalDate());
+        assertEquals(LocalDate.of(2025, 2, 28), ((Date) rows.get(1).get("transaction_date")).toLocalDate());
+        assertTrue(rows.stream().allMatch(r -> "PENDING".equals(r.get("status")) && "".equals(r.get("description"))
+                && ((BigDecimal) r.get("amount")).signum() == 0));
+    }
+
+    @Test
+    void findRowsByTransactionMonthId_ShouldProjectRowsWithoutTypeInDateAndIdOrder() {
+        long income = insertType(userId, "INCOME", "Salário", false, null, "ACTIVE");
+        long expense = insertType(userId, "EXPENSE", "Mercado", false, null, "ACTIVE");
+        long monthId = insertMonth(userId, 3, 2025);
+        long late = insertTransaction(monthId, expense, LocalDate.of(2025, 3, 20), "Feira", "12.50", "COMPLETED");
+        long expenseFirst = insertTransaction(monthId, expense, LocalDate.of(2025, 3, 5), "Padaria", "7.00", "PENDING");
+        long incomeSecond = insertTransaction(monthId, income, LocalDate.of(2025, 3, 5), "Bônus", "100.00", "COMPLETED");
+
+        List<TransactionDto> rows = transactionRepository.findRowsByTransactionMonthId(monthId);
+
+        assertEquals(List.of(expenseFirst, incomeSecond, late), rows.stream().map(TransactionDto::getId).toList());
+        assertTrue(rows.stream().allMatch(r -> r.getType() == null));
+        TransactionDto bonus = rows.get(1);
+        assertEquals(5, bonus.getDay());
+        assertEquals(income, bonus.getTransactionTypeId());
+        assertEquals("Bônus", bonus.getDescription());
+        assertEquals(0, new BigDecimal("100.00").compareTo(bonus.getAmount()));
+        assertEquals(TransactionStatus.COMPLETED, bonus.getStatus());
+        assertEquals("obs", bonus.getRemark());
+    }
+
+    @Test
+    void sumByMonthAndType_ShouldGroupByMonthAndTypeWithinHalfOpenRange() {
+        long salary = insertType(userId, "INCOME", "Salário", false, null, "ACTIVE");
+        long market = insertType(userId, "EXPENSE", "Mercado", false, null, "ACTIVE");
+        long rent = insertType(userId, "EXPENSE", "Aluguel", false, null, "ACTIVE");
+        long january = insertMonth(userId, 1, 2025);
+        long february = insertMonth(userId, 2, 2025);
+        long march = insertMonth(userId, 3, 2025);
+        long april = insertMonth(userId, 4, 2025);
+        insertTransaction(january, market, LocalDate.of(2025, 1, 31), "Antes", "1000.00", "COMPLETED");
+        insertTransaction(february, market, LocalDate.of(2025, 2, 1), "Feira", "10.00", "COMPLETED");
+        insertTransaction(february, market, LocalDate.of(2025, 2, 28), "Feira", "5.50", "PENDING");
+        insertTransaction(february, market, LocalDate.of(2025, 2, 14), "Feira", "4.50", "COMPLETED");
+        insertTransaction(february, salary, LocalDate.of(2025, 2, 5), "", "3000.00", "COMPLETED");
+        insertTransaction(march, rent, LocalDate.of(2025, 3, 10), "", "1500.00", "PENDING");
+        insertTransaction(april, rent, LocalDate.of(2025, 4, 1), "Depois", "1000.00", "COMPLETED");
+        long otherUser = insertUser("repository-test-other@myfinances.com");
+        long otherType = insertType(otherUser, "EXPENSE", "Mercado", false, null, "ACTIVE");
+        long otherMonth = insertMonth(otherUser, 2, 2025);
+        jdbc.update("INSERT INTO transaction (user_id, transaction_type_id, transaction_month_id, transaction_date, " +
+                "description, amount, status, created_at) VALUES (?, ?, ?, '2025-02-10', '', 999, 'COMPLETED', now())",
+                otherUser, otherType, otherMonth);
+
+        List<TransactionReportTypeDto> rows = transactionRepository.sumByMonthAndType(
+                entityManager.find(User.class, userId), LocalDate.of(2025, 2, 1), LocalDate.of(2025, 4, 1));
+
+        assertEquals(List.of("2025-2 " + market, "2025-2 " + salary, "2025-3 " + rent), rows.stream()
+                .map(r -> r.getYear() + "-" + r.getMonth() + " " + r.getTransactionTypeId())
+                .toList());
+        assertEquals(0, new BigDecimal("14.50").compareTo(rows.get(0).getCompleted()));
+        assertEquals(0, new BigDecimal("5.50").compareTo(rows.get(0).getPending()));
+        assertEquals(TransactionTypeType.EXPENSE, rows.get(0).getType());
+        assertEquals("Mercado", rows.get(0).getDescription());
+        assertEquals(0, new BigDecimal("3000.00").compareTo(rows.get(1).getCompleted()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(rows.get(1).getPending()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(rows.get(2).getCompleted()));
+        assertEquals(0, new BigDecimal("1500.00").compareTo(rows.get(2).getPending()));
+    }
+
+    @Test
+    void findLastValues_ShouldReturnLatestPositiveAmountOfEachTypeAndDescription() {
+        long market = insertType(userId, "EXPENSE", "Mercado", false, null, "ACTIVE");
+        long salary = insertType(userId, "INCOME", "Salário", true, 5, "ACTIVE");
+        long monthId = insertMonth(userId, 3, 2025);
+        insertTransaction(monthId, market, LocalDate.of(2025, 3, 1), "Feira", "10.00", "COMPLETED");
+        insertTransaction(monthId, market, LocalDate.of(2025, 3, 7), "Feira", "20.00", "COMPLETED");
+        long latestFeira = insertTransaction(monthId, market, LocalDate.of(2025, 3, 7), "Feira", "21.00", "PENDING");
+        insertTransaction(monthId, market, LocalDate.of(2025, 3, 9), "Feira", "0.00", "PENDING");
+        long padaria = insertTransaction(monthId, market, LocalDate.of(2025, 3, 2), "Padaria", "7.00", "COMPLETED");
+        long salaryRow = insertTransaction(monthId, salary, LocalDate.of(2025, 3, 5), "", "3000.00", "COMPLETED");
+
+        List<TransactionLastValue> values = transactionRepository.findLastValues(userId);
+
+        assertEquals(List.of(latestFeira, padaria, salaryRow), values.stream()
+                .map(TransactionLastValue::getId)
+                .sorted()
+                .toList());
+        TransactionLastValue feira = values.stream().filter(v -> v.getId() == latestFeira).findFirst().orElseThrow();
+        assertEquals(market, feira.getTransactionTypeId());
+        assertEquals("Feira", feira.getDescription());
+        assertEquals(0, new BigDecimal("21.00").compareTo(feira.getAmount()));
+        assertEquals(LocalDate.of(2025, 3, 7), feira.getTransactionDate());
+    }
+
+    @Test
+    void statementInspector_ShouldCountStatementsOfTheCurrentRequest() {
+        long monthId = insertMonth(userId, 3, 2025);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        SqlStatementCounter.start(request);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            transactionRepository.findRowsByTransactionMonthId(monthId);
+            transactionRepository.findLastValues(userId);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertEquals(2, SqlStatementCounter.count(request));
+    }
+
+    private long insertUser(String login) {
+        return jdbc.queryForObject("INSERT INTO \"user\" (login, name, password, status, type, change_pwd_on_login) " +
+                "VALUES (?, 'Repository Test', 'x', 'ACTIVE', 'USER', false) RETURNING id", Long.class, login);
+    }
+
+    private long insertType(long userId, String type, String description, boolean recurring, Integer defaultDay,
+            String status) {
+        return jdbc.queryForObject("INSERT INTO transaction_type (user_id, type, description, recurring, " +
+                "default_day, status) VALUES (?, ?, ?, ?, ?, ?) RETURNING id", Long.class,
+                userId, type, description, recurring, defaultDay, status);
+    }
+
+    private long insertTransaction(long monthId, long typeId, LocalDate date, String description, String amount,
+            String status) {
+        return jdbc.queryForObject("INSERT INTO transaction (user_id, transaction_type_id, transaction_month_id, " +
+                "transaction_date, description, amount, status, remark, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, 'obs', now()) RETURNING id", Long.class,
+                userId, typeId, monthId, date, description, new BigDecimal(amount), status);
+    }
+
+    private long insertMonth(long userId, int month, int year) {
+        return jdbc.queryForObject("INSERT INTO transaction_month (user_id, month, year, status) " +
+                "VALUES (?, ?, ?, 'OPEN') RETURNING id", Long.class, userId, month, year);
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.infotech.myfinances.security;
+
+import br.com.infotech.myfinances.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    @Test
+    void testBucketRefillsOneTokenPerPeriod() {
+        long second = Duration.ofSeconds(1).toNanos();
+        LoginRateLimiter.TokenBucket bucket = new LoginRateLimiter.TokenBucket(2, Duration.ofSeconds(1), 0);
+
+        assertTrue(bucket.tryConsume(0));
+        assertTrue(bucket.tryConsume(0));
+        assertFalse(bucket.tryConsume(second / 2));
+        assertTrue(bucket.tryConsume(second));
+        assertFalse(bucket.tryConsume(second + second / 2));
+        assertTrue(bucket.tryConsume(10 * second));
+        assertTrue(bucket.tryConsume(10 * second));
+        assertFalse(bucket.tryConsume(10 * second));
+    }
+
+    @Test
+    void testRejectsByLoginAndCountsRejections() {
+        LoginRateLimiter limiter = new LoginRateLimiter(2, Duration.ofMinutes(1), 100, Duration.ofSeconds(1), 1000);
+
+        limiter.acquire("User@X.com", "10.0.0.1");
+        limiter.acquire("user@x.com ", "10.0.0.2");
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("user@x.com", "10.0.0.3"));
+        limiter.acquire("other@x.com", "10.0.0.3");
+
+        assertEquals(1, limiter.stats().rejectedByLogin());
+        assertEquals(0, limiter.stats().rejectedByIp());
+    }
+
+    @Test
+    void testRejectsByIp() {
+        LoginRateLimiter limiter = new LoginRateLimiter(100, Duration.ofMinutes(1), 2, Duration.ofMinutes(1), 1000);
+
+        limiter.acquire("a@x.com", "10.0.0.1");
+        limiter.acquire("b@x.com", "10.0.0.1");
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("c@x.com", "10.0.0.1"));
+
+        assertEquals(1, limiter.stats().rejectedByIp());
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.infotech.myfinances.service;
+
+import br.com.infotech.myfinances.domain.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exporta as transações de um usuário de teste em um PostgreSQL real.
+ * Executado apenas quando MF_TEST_DB_URL aponta para um banco descartável; cada
+ * teste é desfeito com rollback ao final.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "MF_TEST_DB_URL", matches = ".+")
+class TransactionExportServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TransactionExportService transactionExportService;
+
+    private long first;
+    private long second;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("MF_TEST_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv("MF_TEST_DB_USER"));
+        registry.add("spring.datasource.password", () -> System.getenv("MF_TEST_DB_PASSWORD"));
+        registry.add("spring.flyway.locations", () -> "filesystem:../flyway/common");
+        registry.add("spring.flyway.out-of-order", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @BeforeEach
+    void setUp() {
+        long userId = jdbc.queryForObject("INSERT INTO \"user\" (login, name, password, status, type, " +
+                "change_pwd_on_login) VALUES ('export-test@myfinances.com', 'Export Test', 'x', 'ACTIVE', " +
+                "'USER', false) RETURNING id", Long.class);
+        long typeId = jdbc.queryForObject("INSERT INTO transaction_type (user_id, type, description, recurring, " +
+                "status) VALUES (?, 'EXPENSE', 'Casa; aluguel', false, 'ACTIVE') RETURNING id", Long.class, userId);
+        long monthId = jdbc.queryForObject("INSERT INTO transaction_month (user_id, month, year, status) " +
+                "VALUES (?, 3, 2025, 'OPEN') RETURNING id", Long.class, userId);
+        second = insertTransaction(userId, typeId, monthId, LocalDate.of(2025, 3, 10), "Linha\r\nquebrada",
+                "1500.00", null);
+        first = insertTransaction(userId, typeId, monthId, LocalDate.of(2025, 3, 1), "Conta \"luz\"", "80.5",
+                "fim\rde linha");
+
+        UserService userService = mock(UserService.class);
+        when(userService.getCurrentUser()).thenReturn(User.builder().id(userId).build());
+        transactionExportService = new TransactionExportService(jdbc, transactionManager, objectMapper,
+                userService);
+    }
+
+    @Test
+    void export_AsCsv_ShouldQuoteValuesWithSeparatorsQuotesAndLineBreaks() throws Exception {
+        String csv = export(TransactionExportService.Format.CSV);
+
+        assertEquals("id;data;tipo;natureza;descricao;valor;status;observacao\n" +
+                first + ";2025-03-01;\"Casa; aluguel\";EXPENSE;\"Conta \"\"luz\"\"\";80.50;PENDING;\"fim\rde linha\"\n" +
+                second + ";2025-03-10;\"Casa; aluguel\";EXPENSE;\"Linha\r\nquebrada\";1500.00;PENDING;\n", csv);
+    }
+
+    @Test
+    void export_AsNdjson_ShouldWriteOneObjectPerLineInDateOrder() throws Exception {
+        String ndjson = export(TransactionExportService.Format.NDJSON);
+
+        List<String> lines = ndjson.lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(ndjson.endsWith("\n"));
+        JsonNode row = objectMapper.readTree(lines.get(0));
+        assertEquals(first, row.get("id").asLong());
+        assertEquals("2025-03-01", row.get("date").asText());
+        assertEquals("Casa; aluguel", row.get("transactionType").asText());
+        assertEquals("EXPENSE", row.get("type").asText());
+        assertEquals("Conta \"luz\"", row.get("description").asText());
+        assertEquals(0, new BigDecimal("80.50").compareTo(row.get("amount").decimalValue()));
+        assertEquals("fim\rde linha", row.get("remark").asText());
+        JsonNode last = objectMapper.readTree(lines.get(1));
+        assertEquals(second, last.get("id").asLong());
+        assertEquals("Linha\r\nquebrada", last.get("description").asText());
+        assertTrue(last.get("remark").isNull());
+    }
+
+    private String export(TransactionExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.export(format).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private long insertTransaction(long userId, long typeId, long monthId, LocalDate date, String description,
+            String amount, String remark) {
+        return jdbc.queryForObject("INSERT INTO transaction (user_id, transaction_type_id, transaction_month_id, " +
+                "transaction_date, description, amount, status, remark, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, 'PENDING', ?, now()) RETURNING id", Long.class,
+                userId, typeId, monthId, date, description, new BigDecimal(amount), remark);
+    }
+}
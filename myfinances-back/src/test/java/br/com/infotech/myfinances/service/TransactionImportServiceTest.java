@@ -0,0 +1,136 @@
+package br.com.infotech.myfinances.service;
+
+import br.com.infotech.myfinances.cache.DescriptionCache;
+import br.com.infotech.myfinances.cache.TransactionTypeCache;
+import br.com.infotech.myfinances.domain.TransactionMonth;
+import br.com.infotech.myfinances.domain.TransactionType;
+import br.com.infotech.myfinances.domain.TransactionTypeStatus;
+import br.com.infotech.myfinances.domain.TransactionTypeType;
+import br.com.infotech.myfinances.domain.User;
+import br.com.infotech.myfinances.dto.TransactionImportDto;
+import br.com.infotech.myfinances.repository.TransactionMonthRepository;
+import br.com.infotech.myfinances.repository.TransactionTypeRepository;
+import br.com.infotech.myfinances.statement.StatementFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionImportServiceTest {
+
+    private static final String LONG_DESCRIPTION = "MERCADO CENTRAL COMPRA NO DEBITO CARTAO FINAL 1234 PARCELA UNICA";
+
+    @Mock
+    private TransactionMonthRepository transactionMonthRepository;
+
+    @Mock
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Mock
+    private TransactionMonthService transactionMonthService;
+
+    @Mock
+    private TransactionTypeCache transactionTypeCache;
+
+    @Mock
+    private DescriptionCache descriptionCache;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private TransactionImportService transactionImportService;
+
+    @Test
+    void importStatement_ShouldRoundAmountsOnceForRowsAndTotals() throws Exception {
+        stubMonth();
+        // The batch list is cleared after each flush, so copy the amounts as they are written
+        List<String> amounts = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            rows.forEach(r -> amounts.add(((BigDecimal) r[5]).toPlainString()));
+            return new int[rows.size()];
+        });
+
+        importCsv("Data;Histórico;Valor\n" +
+                "05/03/2025;SALARIO;\"1.000,005\"\n" +
+                "06/03/2025;SALARIO;\"0,015\"\n" +
+                "07/03/2025;MERCADO;\"-10,125\"\n" +
+                "08/03/2025;MERCADO;\"-0,004\"\n");
+
+        assertEquals(List.of("1000.00", "0.02", "10.12"), amounts);
+        verify(transactionMonthService).applyImportedTotals(any(), eq(new BigDecimal("1000.02")),
+                eq(new BigDecimal("10.12")));
+    }
+
+    @Test
+    void importStatement_ShouldReportDescriptionsCutToFiftyCharacters() throws Exception {
+        stubMonth();
+
+        TransactionImportDto result = importCsv("Data;Histórico;Valor\n" +
+                "07/03/2025;" + LONG_DESCRIPTION + ";\"-10,00\"\n" +
+                "08/03/2025;" + LONG_DESCRIPTION + ";\"-5,00\"\n" +
+                "09/03/2025;MERCADO;\"-1,00\"\n");
+
+        assertEquals(3, result.getImported());
+        assertEquals(List.of(LONG_DESCRIPTION), result.getTruncated());
+        assertEquals(List.of(), result.getUnmatched());
+        verify(descriptionCache).evict(1L);
+    }
+
+    @Test
+    void importStatement_WhenNothingIsImported_ShouldKeepTheDescriptionIndex() throws Exception {
+        stubMonth();
+
+        TransactionImportDto result = importCsv("Data;Histórico;Valor\n" +
+                "07/04/2025;MERCADO;\"-10,00\"\n");
+
+        assertEquals(0, result.getImported());
+        assertEquals(1, result.getSkipped());
+        verify(descriptionCache, never()).evict(any());
+    }
+
+    private TransactionImportDto importCsv(String csv) throws Exception {
+        return transactionImportService.importStatement(7L, StatementFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, null, null);
+    }
+
+    private void stubMonth() {
+        User user = User.builder().id(1L).build();
+        TransactionMonth month = TransactionMonth.builder().id(7L).user(user).month(3).year(2025).status("OPEN")
+                .build();
+        when(transactionMonthRepository.findById(7L)).thenReturn(Optional.of(month));
+        when(transactionTypeCache.get(eq(1L), any())).thenReturn(Map.of(
+                3L, type(3L, TransactionTypeType.EXPENSE, "Mercado"),
+                4L, type(4L, TransactionTypeType.INCOME, "Salario")));
+    }
+
+    private static TransactionType type(Long id, TransactionTypeType kind, String description) {
+        return TransactionType.builder()
+                .id(id)
+                .type(kind)
+                .description(description)
+                .status(TransactionTypeStatus.ACTIVE)
+                .build();
+    }
+}
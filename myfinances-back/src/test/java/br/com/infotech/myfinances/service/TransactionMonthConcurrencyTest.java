@@ -0,0 +1,143 @@
+package br.com.infotech.myfinances.service;
+
+import br.com.infotech.myfinances.MyFinances;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Abre o mesmo mês novo com muitas requisições simultâneas e verifica que o mês
+ * é criado uma única vez, com uma única geração das transações recorrentes.
+ * Executado apenas quando MF_TEST_DB_URL aponta para um banco descartável; os
+ * dados criados são removidos ao final.
+ */
+@EnabledIfEnvironmentVariable(named = "MF_TEST_DB_URL", matches = ".+")
+class TransactionMonthConcurrencyTest {
+
+    private static final int CLIENTS = 64;
+    private static final int MONTHS = 6;
+    private static final String LOGIN = "concurrency-test@myfinances.com";
+
+    private Connection connection;
+    private long userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = DriverManager.getConnection(System.getenv("MF_TEST_DB_URL"),
+                System.getenv("MF_TEST_DB_USER"), System.getenv("MF_TEST_DB_PASSWORD"));
+        cleanUp();
+        userId = queryLong("INSERT INTO \"user\" (login, name, password, status, type, change_pwd_on_login) " +
+                "VALUES ('" + LOGIN + "', 'Concurrency Test', 'x', 'ACTIVE', 'USER', false) RETURNING id");
+        queryLong("INSERT INTO transaction_type (user_id, type, description, recurring, default_day, status) " +
+                "VALUES (" + userId + ", 'EXPENSE', 'Aluguel', true, 10, 'ACTIVE'), " +
+                "(" + userId + ", 'INCOME', 'Salário', true, 5, 'ACTIVE'), " +
+                "(" + userId + ", 'EXPENSE', 'Mercado', false, null, 'ACTIVE') RETURNING id");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        cleanUp();
+        connection.close();
+    }
+
+    @Test
+    void getOrCreateMonth_WhenOpenedConcurrently_ShouldCreateMonthAndRecurringRowsOnce() throws Exception {
+        try (ConfigurableApplicationContext app = start()) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+
+            for (int month = 1; month <= MONTHS; month++) {
+                HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/transaction-months/2040/" + month))
+                        .header("X-User-Login", LOGIN)
+                        .timeout(Duration.ofSeconds(60))
+                        .build();
+
+                List<Integer> statuses = openConcurrently(http, request);
+
+                assertEquals(List.of(200), statuses.stream().distinct().toList(), "month " + month);
+                assertEquals(1, queryLong("SELECT count(*) FROM transaction_month " +
+                        "WHERE user_id = " + userId + " AND year = 2040 AND month = " + month));
+                assertEquals(2, queryLong("SELECT count(*) FROM transaction t JOIN transaction_month m " +
+                        "ON m.id = t.transaction_month_id " +
+                        "WHERE m.user_id = " + userId + " AND m.year = 2040 AND m.month = " + month));
+            }
+        }
+    }
+
+    private static List<Integer> openConcurrently(HttpClient http, HttpRequest request) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> responses = new ArrayList<>(CLIENTS);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                }));
+            }
+            start.countDown();
+
+            List<Integer> statuses = new ArrayList<>(CLIENTS);
+            for (Future<Integer> response : responses) {
+                statuses.add(response.get());
+            }
+            return statuses;
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        // Command-line arguments so they override application.yml
+        return new SpringApplicationBuilder(MyFinances.class).run(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=" + System.getenv("MF_TEST_DB_URL"),
+                "--spring.datasource.username=" + System.getenv("MF_TEST_DB_USER"),
+                "--spring.datasource.password=" + System.getenv("MF_TEST_DB_PASSWORD"),
+                "--spring.flyway.locations=filesystem:../flyway/common",
+                "--spring.flyway.out-of-order=true",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--logging.level.root=WARN",
+                "--logging.level.br.com.infotech.myfinances=WARN");
+    }
+
+    private void cleanUp() throws Exception {
+        String user = "(SELECT id FROM \"user\" WHERE login = '" + LOGIN + "')";
+        try (Statement st = connection.createStatement()) {
+            st.execute("DELETE FROM transaction WHERE user_id IN " + user);
+            st.execute("DELETE FROM transaction_month WHERE user_id IN " + user);
+            st.execute("DELETE FROM transaction_type WHERE user_id IN " + user);
+            st.execute("DELETE FROM \"user\" WHERE login = '" + LOGIN + "'");
+        }
+    }
+
+    private long queryLong(String sql) throws Exception {
+        try (PreparedStatement ps = connection.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
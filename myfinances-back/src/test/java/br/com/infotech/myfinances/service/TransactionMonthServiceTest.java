@@ -0,0 +1,508 @@
+package br.com.infotech.myfinances.service;
+
+import br.com.infotech.myfinances.cache.DescriptionCache;
+import br.com.infotech.myfinances.cache.DescriptionIndex;
+import br.com.infotech.myfinances.cache.LastValueCache;
+import br.com.infotech.myfinances.cache.TransactionTypeCache;
+import br.com.infotech.myfinances.domain.Transaction;
+import br.com.infotech.myfinances.domain.TransactionMonth;
+import br.com.infotech.myfinances.domain.TransactionStatus;
+import br.com.infotech.myfinances.domain.TransactionType;
+import br.com.infotech.myfinances.domain.TransactionTypeType;
+import br.com.infotech.myfinances.domain.User;
+import br.com.infotech.myfinances.dto.TransactionDeltaDto;
+import br.com.infotech.myfinances.dto.TransactionDto;
+import br.com.infotech.myfinances.dto.TransactionLastValueDto;
+import br.com.infotech.myfinances.dto.TransactionMonthDto;
+import br.com.infotech.myfinances.exception.ClosedMonthException;
+import br.com.infotech.myfinances.repository.TransactionLastValue;
+import br.com.infotech.myfinances.repository.TransactionMonthRepository;
+import br.com.infotech.myfinances.repository.TransactionMonthTotals;
+import br.com.infotech.myfinances.repository.TransactionRepository;
+import br.com.infotech.myfinances.repository.TransactionTypeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionMonthServiceTest {
+
+    @Mock
+    private TransactionMonthRepository transactionMonthRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private LastValueCache lastValueCache;
+
+    @Mock
+    private TransactionTypeCache transactionTypeCache;
+
+    @Mock
+    private DescriptionCache descriptionCache;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private TransactionMonthService transactionMonthService;
+
+    @Test
+    void closeMonth_ShouldStoreSnapshotOfTheClosedMonth() throws Exception {
+        TransactionMonth month = month("OPEN");
+        when(transactionMonthRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(month));
+        when(transactionTypeCache.get(eq(1L), any())).thenReturn(Map.of(3L, expenseType()));
+        when(transactionRepository.findRowsByTransactionMonthId(7L)).thenReturn(new ArrayList<>(List.of(
+                TransactionDto.builder().id(1L).day(5).transactionTypeId(3L).amount(new BigDecimal("10.00")).build())));
+
+        TransactionMonthDto result = transactionMonthService.closeMonth(7L);
+
+        ArgumentCaptor<String> snapshot = ArgumentCaptor.forClass(String.class);
+        verify(transactionMonthRepository).close(eq(7L), snapshot.capture());
+        assertEquals("CLOSED", result.getStatus());
+        assertEquals(4L, result.getVersion());
+        assertEquals(result, objectMapper.readValue(snapshot.getValue(), TransactionMonthDto.class));
+    }
+
+    @Test
+    void getOrCreateMonth_WhenARowHasATypeMissingFromTheCache_ShouldReloadTheTypesOnce() {
+        TransactionMonth month = month("OPEN");
+        when(userService.getCurrentUser()).thenReturn(month.getUser());
+        when(transactionMonthRepository.findByUserAndMonthAndYear(month.getUser(), 3, 2025))
+                .thenReturn(Optional.of(month));
+        // Type 4 was created after the types of the user were cached
+        when(transactionTypeCache.get(eq(1L), any()))
+                .thenReturn(Map.of(3L, expenseType()))
+                .thenReturn(Map.of(3L, expenseType(), 4L, incomeType()));
+        when(transactionRepository.findRowsByTransactionMonthId(7L)).thenReturn(new ArrayList<>(List.of(
+                TransactionDto.builder().id(1L).day(5).transactionTypeId(3L).build(),
+                TransactionDto.builder().id(2L).day(5).transactionTypeId(4L).build())));
+
+        TransactionMonthDto result = transactionMonthService.getOrCreateMonth(3, 2025);
+
+        verify(transactionTypeCache).evict(1L);
+        assertEquals(List.of(2L, 1L), result.getTransactions().stream().map(TransactionDto::getId).toList());
+        assertEquals(TransactionTypeType.INCOME, result.getTransactions().get(0).getType());
+    }
+
+    @Test
+    void getOrCreateMonth_ShouldMoveIncomeAheadWithinEachDayKeepingIdOrder() {
+        TransactionMonth month = month("OPEN");
+        when(userService.getCurrentUser()).thenReturn(month.getUser());
+        when(transactionMonthRepository.findByUserAndMonthAndYear(month.getUser(), 3, 2025))
+                .thenReturn(Optional.of(month));
+        when(transactionTypeCache.get(eq(1L), any())).thenReturn(Map.of(3L, expenseType(), 4L, incomeType()));
+        // Date and id order, as the month query returns the rows
+        when(transactionRepository.findRowsByTransactionMonthId(7L)).thenReturn(new ArrayList<>(List.of(
+                dayRow(1L, 5, 3L),
+                dayRow(2L, 5, 4L),
+                dayRow(3L, 5, 3L),
+                dayRow(4L, 5, 4L),
+                dayRow(5L, 7, 3L),
+                dayRow(6L, 9, 3L),
+                dayRow(7L, 9, 4L))));
+
+        TransactionMonthDto result = transactionMonthService.getOrCreateMonth(3, 2025);
+
+        assertEquals(List.of(2L, 4L, 1L, 3L, 5L, 7L, 6L),
+                result.getTransactions().stream().map(TransactionDto::getId).toList());
+    }
+
+    @Test
+    void closeMonth_WhenAlreadyClosed_ShouldThrowClosedMonthException() {
+        when(transactionMonthRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(month("CLOSED")));
+
+        assertThrows(ClosedMonthException.class, () -> transactionMonthService.closeMonth(7L));
+        verify(transactionMonthRepository, never()).close(anyLong(), any());
+    }
+
+    @Test
+    void addTransaction_WhenMonthIsClosed_ShouldThrowClosedMonthException() {
+        when(transactionMonthRepository.findById(7L)).thenReturn(Optional.of(month("CLOSED")));
+
+        assertThrows(ClosedMonthException.class,
+                () -> transactionMonthService.addTransaction(7L, TransactionDto.builder().build()));
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void updateTransaction_WhenPendingExpenseIsCompletedWithNewAmount_ShouldMoveItBetweenTotals() {
+        Transaction transaction = transaction(expenseType(), "10.00", TransactionStatus.PENDING);
+        stubWrite(transaction);
+
+        transactionMonthService.updateTransactionDelta(11L, row(3L, "15.00", TransactionStatus.COMPLETED));
+
+        verify(transactionMonthRepository).applyDelta(eq(7L), amount("0"), amount("0"), amount("15.00"),
+                amount("-10.00"));
+        verify(transactionMonthRepository).propagateBalance(eq(1L), eq(2025 * 12 + 3), amount("-5.00"));
+    }
+
+    @Test
+    void updateTransaction_WhenCompletedIncomeGoesBackToPending_ShouldKeepTheBalance() {
+        Transaction transaction = transaction(incomeType(), "100.00", TransactionStatus.COMPLETED);
+        stubWrite(transaction);
+
+        transactionMonthService.updateTransactionDelta(11L, row(4L, "100.00", TransactionStatus.PENDING));
+
+        verify(transactionMonthRepository).applyDelta(eq(7L), amount("-100.00"), amount("100.00"), amount("0"),
+                amount("0"));
+        verify(transactionMonthRepository, never()).propagateBalance(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void updateTransaction_WhenTypeChangesFromIncomeToExpense_ShouldMoveTheAmountAcross() {
+        Transaction transaction = transaction(incomeType(), "40.00", TransactionStatus.COMPLETED);
+        stubWrite(transaction);
+
+        transactionMonthService.updateTransactionDelta(11L, row(3L, "40.00", TransactionStatus.COMPLETED));
+
+        verify(transactionMonthRepository).applyDelta(eq(7L), amount("-40.00"), amount("0"), amount("40.00"),
+                amount("0"));
+        verify(transactionMonthRepository).propagateBalance(eq(1L), eq(2025 * 12 + 3), amount("-80.00"));
+    }
+
+    @Test
+    void deleteTransaction_ShouldSubtractTheLockedRowFromTheTotals() {
+        Transaction transaction = transaction(incomeType(), "100.00", TransactionStatus.COMPLETED);
+        when(transactionRepository.findByIdForUpdate(11L)).thenReturn(Optional.of(transaction));
+        TransactionMonthTotals totals = totals();
+        when(transactionMonthRepository.applyDelta(anyLong(), any(), any(), any(), any())).thenReturn(totals);
+
+        TransactionDeltaDto result = transactionMonthService.deleteTransactionDelta(11L);
+
+        verify(transactionRepository).delete(transaction);
+        verify(transactionMonthRepository).applyDelta(eq(7L), amount("-100.00"), amount("0"), amount("0"),
+                amount("0"));
+        verify(transactionMonthRepository).propagateBalance(eq(1L), eq(2025 * 12 + 3), amount("-100.00"));
+        assertTrue(result.getDeleted());
+        assertEquals(5L, result.getVersion());
+    }
+
+    @Test
+    void updateTransaction_WhenRowIsGone_ShouldNotApplyAnyDelta() {
+        when(transactionRepository.findByIdForUpdate(11L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> transactionMonthService.updateTransactionDelta(11L,
+                row(3L, "15.00", TransactionStatus.COMPLETED)));
+        verify(transactionMonthRepository, never()).applyDelta(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void addTransaction_ShouldAddTheUseToTheDescriptionIndex() {
+        when(transactionMonthRepository.findById(7L)).thenReturn(Optional.of(month("OPEN")));
+        when(transactionTypeCache.get(eq(1L), any())).thenReturn(Map.of(3L, expenseType()));
+        when(transactionRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        TransactionMonthTotals totals = totals();
+        when(transactionMonthRepository.applyDelta(anyLong(), any(), any(), any(), any())).thenReturn(totals);
+        TransactionDto dto = row(3L, "12.00", TransactionStatus.PENDING);
+        dto.setDescription("Mercado");
+
+        transactionMonthService.addTransactionDelta(7L, dto);
+
+        DescriptionIndex index = indexAfterWrite();
+        assertEquals(List.of("Mercado", "Padaria"), index.suggest(null, 10, LocalDate.of(2025, 3, 5)));
+    }
+
+    @Test
+    void updateTransaction_ShouldMoveTheUseToTheNewDescription() {
+        Transaction transaction = transaction(expenseType(), "10.00", TransactionStatus.PENDING);
+        transaction.setDescription("Padaria");
+        stubWrite(transaction);
+        TransactionDto dto = row(3L, "10.00", TransactionStatus.PENDING);
+        dto.setDescription("Mercado");
+
+        transactionMonthService.updateTransactionDelta(11L, dto);
+
+        DescriptionIndex index = indexAfterWrite();
+        assertEquals(List.of("Mercado"), index.suggest(null, 10, LocalDate.of(2025, 3, 5)));
+    }
+
+    @Test
+    void deleteTransaction_ShouldRemoveTheUseFromTheDescriptionIndex() {
+        Transaction transaction = transaction(incomeType(), "100.00", TransactionStatus.COMPLETED);
+        transaction.setDescription("Padaria");
+        when(transactionRepository.findByIdForUpdate(11L)).thenReturn(Optional.of(transaction));
+        TransactionMonthTotals totals = totals();
+        when(transactionMonthRepository.applyDelta(anyLong(), any(), any(), any(), any())).thenReturn(totals);
+
+        transactionMonthService.deleteTransactionDelta(11L);
+
+        assertEquals(0, indexAfterWrite().size());
+    }
+
+    @Test
+    void getOrCreateMonth_WhenRecurringRowsAreGenerated_ShouldEvictTheDescriptionIndex() {
+        stubCreate(Optional.empty(), Optional.empty());
+        when(transactionRepository.insertRecurringTransactions(1L, 8L, 2025, 4, 30)).thenReturn(2);
+
+        transactionMonthService.getOrCreateMonth(4, 2025);
+
+        verify(descriptionCache).evict(1L);
+    }
+
+    @Test
+    void getOrCreateMonth_WhenPreviousMonthCarriesOver_ShouldInheritItsClosingBalance() {
+        TransactionMonth previous = month("OPEN");
+        previous.setCarryOver(true);
+        previous.setClosingBalance(new BigDecimal("150.00"));
+        stubCreate(Optional.of(previous), Optional.empty());
+
+        transactionMonthService.getOrCreateMonth(4, 2025);
+
+        verify(transactionMonthRepository).insertIfAbsent(1L, 4, 2025, true, new BigDecimal("150.00"));
+    }
+
+    @Test
+    void getOrCreateMonth_WhenCreatedInFrontOfCarryOverMonth_ShouldJoinTheChain() {
+        TransactionMonth previous = month("OPEN");
+        previous.setClosingBalance(new BigDecimal("80.00"));
+        TransactionMonth next = month("OPEN");
+        next.setCarryOver(true);
+        next.setInitialBalance(new BigDecimal("60.00"));
+        stubCreate(Optional.of(previous), Optional.of(next));
+
+        transactionMonthService.getOrCreateMonth(4, 2025);
+
+        verify(transactionMonthRepository).insertIfAbsent(1L, 4, 2025, true, new BigDecimal("80.00"));
+    }
+
+    @Test
+    void getOrCreateMonth_WhenFirstMonthBeforeCarryOverMonth_ShouldTakeItsInitialBalance() {
+        TransactionMonth next = month("OPEN");
+        next.setCarryOver(true);
+        next.setInitialBalance(new BigDecimal("60.00"));
+        stubCreate(Optional.empty(), Optional.of(next));
+
+        transactionMonthService.getOrCreateMonth(4, 2025);
+
+        verify(transactionMonthRepository).insertIfAbsent(1L, 4, 2025, false, new BigDecimal("60.00"));
+    }
+
+    @Test
+    void getOrCreateMonth_WhenPreviousMonthDoesNotCarryOver_ShouldStartFromZero() {
+        stubCreate(Optional.of(month("OPEN")), Optional.empty());
+
+        transactionMonthService.getOrCreateMonth(4, 2025);
+
+        verify(transactionMonthRepository).insertIfAbsent(1L, 4, 2025, false, BigDecimal.ZERO);
+    }
+
+    @Test
+    void reopenMonth_WhenCarryingOver_ShouldResyncWithPreviousMonthAndPropagate() {
+        TransactionMonth closed = month("CLOSED");
+        closed.setCarryOver(true);
+        TransactionMonth previous = month("OPEN");
+        previous.setClosingBalance(new BigDecimal("25.00"));
+        when(transactionMonthRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(closed));
+        when(transactionMonthRepository.findPreviousForShare(closed.getUser(), 3, 2025))
+                .thenReturn(Optional.of(previous));
+        // Initial balance 0 -> 25 shifts the closing balance from -10 to 15
+        TransactionMonthTotals totals = totals();
+        when(totals.getInitialBalance()).thenReturn(new BigDecimal("25.00"));
+        when(totals.getClosingBalance()).thenReturn(new BigDecimal("15.00"));
+        when(transactionMonthRepository.updateCarryOver(7L, true, new BigDecimal("25.00"))).thenReturn(totals);
+        when(transactionTypeCache.get(eq(1L), any())).thenReturn(Map.of());
+        when(transactionRepository.findRowsByTransactionMonthId(7L)).thenReturn(new ArrayList<>());
+
+        TransactionMonthDto result = transactionMonthService.reopenMonth(7L);
+
+        verify(transactionMonthRepository).reopen(7L);
+        verify(transactionMonthRepository).propagateBalance(eq(1L), eq(2025 * 12 + 3), amount("25.00"));
+        assertEquals("OPEN", result.getStatus());
+        assertEquals(0, new BigDecimal("15.00").compareTo(result.getSummary().getClosingBalance()));
+    }
+
+    @Test
+    void reopenMonth_WhenNotCarryingOver_ShouldKeepTheBalance() {
+        when(transactionMonthRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(month("CLOSED")));
+        when(transactionTypeCache.get(eq(1L), any())).thenReturn(Map.of());
+        when(transactionRepository.findRowsByTransactionMonthId(7L)).thenReturn(new ArrayList<>());
+
+        TransactionMonthDto result = transactionMonthService.reopenMonth(7L);
+
+        verify(transactionMonthRepository).reopen(7L);
+        verify(transactionMonthRepository, never()).findPreviousForShare(any(), any(), any());
+        verify(transactionMonthRepository, never()).propagateBalance(anyLong(), anyInt(), any());
+        assertEquals(4L, result.getVersion());
+    }
+
+    @Test
+    void getLastTransactionValues_ShouldAddTypeFallbackFromLatestRowOfEachType() {
+        when(userService.getCurrentUser()).thenReturn(month("OPEN").getUser());
+        when(lastValueCache.get(eq(1L), any())).thenAnswer(i -> i.<Function<Long, ?>>getArgument(1).apply(1L));
+        when(transactionRepository.findLastValues(1L)).thenReturn(List.of(
+                lastValue(1L, 3L, "Feira", "10.00", LocalDate.of(2025, 3, 5)),
+                lastValue(2L, 3L, "Padaria", "7.00", LocalDate.of(2025, 3, 9)),
+                lastValue(3L, 3L, "", "4.00", LocalDate.of(2025, 3, 9)),
+                lastValue(4L, 4L, "Bônus", "500.00", LocalDate.of(2025, 3, 1))));
+
+        List<TransactionLastValueDto> result = transactionMonthService.getLastTransactionValues();
+
+        assertEquals(List.of(
+                new TransactionLastValueDto(3L, "Feira", new BigDecimal("10.00")),
+                new TransactionLastValueDto(3L, "Padaria", new BigDecimal("7.00")),
+                new TransactionLastValueDto(4L, "Bônus", new BigDecimal("500.00")),
+                new TransactionLastValueDto(3L, null, new BigDecimal("4.00")),
+                new TransactionLastValueDto(4L, null, new BigDecimal("500.00"))), result);
+    }
+
+    private static TransactionLastValue lastValue(Long id, Long typeId, String description, String amount,
+            LocalDate date) {
+        return new TransactionLastValue() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getTransactionTypeId() {
+                return typeId;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+
+            @Override
+            public LocalDate getTransactionDate() {
+                return date;
+            }
+        };
+    }
+
+    private void stubCreate(Optional<TransactionMonth> previous, Optional<TransactionMonth> next) {
+        User user = month("OPEN").getUser();
+        TransactionMonth created = month("OPEN");
+        created.setId(8L);
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(transactionMonthRepository.findByUserAndMonthAndYear(user, 4, 2025)).thenReturn(Optional.empty());
+        when(transactionMonthRepository.findPreviousForShare(user, 4, 2025)).thenReturn(previous);
+        when(transactionMonthRepository.findNext(user, 4, 2025)).thenReturn(next);
+        when(transactionMonthRepository.insertIfAbsent(eq(1L), eq(4), eq(2025), any(), any()))
+                .thenReturn(Optional.of(8L));
+        when(transactionMonthRepository.findById(8L)).thenReturn(Optional.of(created));
+        when(transactionTypeCache.get(eq(1L), any())).thenReturn(Map.of());
+        when(transactionRepository.findRowsByTransactionMonthId(8L)).thenReturn(new ArrayList<>());
+    }
+
+    /**
+     * Applies the index change registered by the write to an index holding one
+     * use of "Padaria".
+     */
+    @SuppressWarnings("unchecked")
+    private DescriptionIndex indexAfterWrite() {
+        ArgumentCaptor<Consumer<DescriptionIndex>> change = ArgumentCaptor.forClass(Consumer.class);
+        verify(descriptionCache).update(eq(1L), change.capture());
+        DescriptionIndex index = new DescriptionIndex(List.of(
+                new DescriptionIndex.Usage("Padaria", 1, LocalDate.of(2025, 3, 1))));
+        change.getValue().accept(index);
+        return index;
+    }
+
+    private void stubWrite(Transaction transaction) {
+        when(transactionRepository.findByIdForUpdate(11L)).thenReturn(Optional.of(transaction));
+        when(transactionTypeCache.get(eq(1L), any())).thenReturn(Map.of(3L, expenseType(), 4L, incomeType()));
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+        TransactionMonthTotals totals = totals();
+        when(transactionMonthRepository.applyDelta(anyLong(), any(), any(), any(), any())).thenReturn(totals);
+    }
+
+    private static BigDecimal amount(String value) {
+        return argThat(a -> a != null && a.compareTo(new BigDecimal(value)) == 0);
+    }
+
+    private static Transaction transaction(TransactionType type, String amount, TransactionStatus status) {
+        TransactionMonth month = month("OPEN");
+        return Transaction.builder()
+                .id(11L)
+                .user(month.getUser())
+                .transactionMonth(month)
+                .transactionType(type)
+                .transactionDate(LocalDate.of(2025, 3, 5))
+                .description("")
+                .amount(new BigDecimal(amount))
+                .status(status)
+                .build();
+    }
+
+    private static TransactionDto dayRow(Long id, int day, Long typeId) {
+        return TransactionDto.builder().id(id).day(day).transactionTypeId(typeId).build();
+    }
+
+    private static TransactionDto row(Long typeId, String amount, TransactionStatus status) {
+        return TransactionDto.builder()
+                .day(5)
+                .transactionTypeId(typeId)
+                .description("")
+                .amount(new BigDecimal(amount))
+                .status(status)
+                .build();
+    }
+
+    private static TransactionType expenseType() {
+        return TransactionType.builder().id(3L).type(TransactionTypeType.EXPENSE).build();
+    }
+
+    private static TransactionType incomeType() {
+        return TransactionType.builder().id(4L).type(TransactionTypeType.INCOME).build();
+    }
+
+    private static TransactionMonthTotals totals() {
+        TransactionMonthTotals totals = mock(TransactionMonthTotals.class);
+        when(totals.getVersion()).thenReturn(5L);
+        return totals;
+    }
+
+    private static TransactionMonth month(String status) {
+        User user = new User();
+        user.setId(1L);
+        return TransactionMonth.builder()
+                .id(7L)
+                .user(user)
+                .month(3)
+                .year(2025)
+                .status(status)
+                .initialBalance(BigDecimal.ZERO)
+                .closingBalance(new BigDecimal("-10.00"))
+                .version(3L)
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.infotech.myfinances.service;
+
+import br.com.infotech.myfinances.cache.TransactionTypeCache;
+import br.com.infotech.myfinances.cache.TransactionTypeIndex;
+import br.com.infotech.myfinances.domain.TransactionType;
+import br.com.infotech.myfinances.domain.TransactionTypeStatus;
+import br.com.infotech.myfinances.domain.TransactionTypeType;
+import br.com.infotech.myfinances.domain.User;
+import br.com.infotech.myfinances.dto.CursorPageDto;
+import br.com.infotech.myfinances.dto.TransactionTypeDto;
+import br.com.infotech.myfinances.repository.TransactionTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionTypeServiceTest {
+
+    @Mock
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TransactionTypeCache transactionTypeCache;
+
+    @InjectMocks
+    private TransactionTypeService transactionTypeService;
+
+    private final User user = User.builder().id(1L).build();
+    private final List<TransactionType> types = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        types.add(type(1L, TransactionTypeType.EXPENSE, "Mercado", 10));
+        types.add(type(2L, TransactionTypeType.INCOME, "Salário", 5));
+        types.add(type(3L, TransactionTypeType.EXPENSE, "Aluguel", 10));
+        types.add(type(4L, TransactionTypeType.EXPENSE, "Farmácia", null));
+        when(userService.getCurrentUser()).thenReturn(user);
+        lenient().when(transactionTypeCache.index(eq(1L), any()))
+                .thenAnswer(invocation -> new TransactionTypeIndex(types));
+    }
+
+    @Test
+    void findAll_WithIndexedSort_ShouldSortInMemory() {
+        Page<TransactionTypeDto> page = transactionTypeService.findAll(null, null,
+                PageRequest.of(0, 3, Sort.by("defaultDay", "description")));
+
+        assertEquals(List.of(2L, 3L, 1L), ids(page.getContent()));
+        assertEquals(4, page.getTotalElements());
+        verify(transactionTypeRepository, never()).search(any(), any(), any(), anyList(), any());
+    }
+
+    @Test
+    void findAll_WithSortTheIndexDoesNotSupport_ShouldSearchTheDatabase() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("status"));
+        when(transactionTypeRepository.search(user, TransactionTypeStatus.ACTIVE, "a",
+                List.of(TransactionTypeType.EXPENSE), pageable))
+                .thenReturn(new PageImpl<>(List.of(types.get(2)), pageable, 1));
+
+        Page<TransactionTypeDto> page = transactionTypeService.findAll("a", List.of("EXPENSE"), pageable);
+
+        assertEquals(List.of(3L), ids(page.getContent()));
+        verify(transactionTypeCache, never()).index(any(), any());
+    }
+
+    @Test
+    void scroll_WhenLastTypeIsRenamed_ShouldContinueAfterTheCursorValues() {
+        CursorPageDto<TransactionTypeDto> first = transactionTypeService.scroll(null, null, Sort.unsorted(), 2, null,
+                true);
+        assertEquals(List.of(3L, 4L), ids(first.getContent()));
+
+        // Farmácia moves to the end, and a type lands before the cursor
+        types.set(3, type(4L, TransactionTypeType.EXPENSE, "Viagem", null));
+        types.add(type(5L, TransactionTypeType.EXPENSE, "Academia", 1));
+        CursorPageDto<TransactionTypeDto> second = transactionTypeService.scroll(null, null, Sort.unsorted(), 2,
+                first.getNext(), false);
+
+        assertEquals(List.of(1L, 2L), ids(second.getContent()));
+        assertNotNull(second.getNext());
+        assertEquals(List.of(4L), ids(transactionTypeService.scroll(null, null, Sort.unsorted(), 2,
+                second.getNext(), false).getContent()));
+    }
+
+    @Test
+    void scroll_ByDefaultDayDescending_ShouldCarryNullsInTheCursor() {
+        Sort sort = Sort.by(Sort.Order.desc("defaultDay"));
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<TransactionTypeDto> page = transactionTypeService.scroll(null, null, sort, 1, cursor, false);
+            seen.addAll(ids(page.getContent()));
+            cursor = page.getNext();
+        } while (cursor != null);
+
+        assertEquals(List.of(4L, 1L, 3L, 2L), seen);
+    }
+
+    @Test
+    void scroll_WithCursorOfAnotherSort_ShouldRejectIt() {
+        String cursor = transactionTypeService.scroll(null, null, Sort.unsorted(), 1, null, false).getNext();
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> transactionTypeService.scroll(null, null, Sort.by("type", "defaultDay"), 1, cursor, false));
+        assertEquals("Cursor inválido", error.getMessage());
+    }
+
+    private static List<Long> ids(List<TransactionTypeDto> content) {
+        return content.stream().map(TransactionTypeDto::getId).toList();
+    }
+
+    private TransactionType type(Long id, TransactionTypeType kind, String description, Integer defaultDay) {
+        return TransactionType.builder()
+                .id(id)
+                .user(user)
+                .type(kind)
+                .description(description)
+                .recurring(defaultDay != null)
+                .defaultDay(defaultDay)
+                .status(TransactionTypeStatus.ACTIVE)
+                .build();
+    }
+}
@@ -1,16 +1,26 @@
 package br.com.infotech.myfinances.service;
 
+import br.com.infotech.myfinances.cache.UserCache;
 import br.com.infotech.myfinances.domain.User;
+import br.com.infotech.myfinances.domain.UserStatus;
+import br.com.infotech.myfinances.domain.UserType;
+import br.com.infotech.myfinances.exception.BadCredentialsException;
 import br.com.infotech.myfinances.repository.UserRepository;
+import br.com.infotech.myfinances.security.PasswordHasher;
+import br.com.infotech.myfinances.util.CryptUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -19,6 +29,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
     @InjectMocks
     private UserService userService;
 
@@ -46,4 +62,68 @@ class UserServiceTest {
         assertThrows(IllegalArgumentException.class, () -> userService.findByLogin(""));
         assertThrows(IllegalArgumentException.class, () -> userService.findByLogin("   "));
     }
+
+    @Test
+    void login_WhenHashIsOutdated_ShouldUpgradePassword() {
+        User user = activeUser("legacyHash");
+        when(userRepository.findByLogin("user@infotech.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.verify("Secret@123", "legacyHash")).thenReturn(true);
+        when(passwordHasher.needsUpgrade("legacyHash")).thenReturn(true);
+        when(passwordHasher.hash("Secret@123")).thenReturn("pbkdf2$1$salt$hash");
+
+        userService.login("user@infotech.com", "Secret@123");
+
+        assertEquals("pbkdf2$1$salt$hash", user.getPassword());
+        verify(userRepository).save(user);
+        verify(userCache).evict("user@infotech.com");
+    }
+
+    @Test
+    void login_WithLegacySha256Hash_ShouldStorePbkdf2HashThatVerifies() {
+        PasswordHasher hasher = new PasswordHasher(1000, 1, 4, Duration.ofSeconds(5), null);
+        UserService service = new UserService(userRepository, userCache, hasher);
+        User user = activeUser(CryptUtils.encrypt("Secret@123"));
+        when(userRepository.findByLogin("user@infotech.com")).thenReturn(Optional.of(user));
+
+        try {
+            service.login("user@infotech.com", "Secret@123");
+        } finally {
+            hasher.shutdown();
+        }
+
+        assertTrue(user.getPassword().startsWith("pbkdf2$1000$"));
+        assertTrue(CryptUtils.verifyPassword("Secret@123", user.getPassword()));
+        verify(userRepository).save(user);
+        verify(userCache).evict("user@infotech.com");
+    }
+
+    @Test
+    void login_WhenLoginIsUnknown_ShouldStillVerifyAPassword() {
+        when(userRepository.findByLogin("nobody@infotech.com")).thenReturn(Optional.empty());
+
+        assertThrows(BadCredentialsException.class, () -> userService.login("nobody@infotech.com", "Secret@123"));
+        verify(passwordHasher).verifyUnknownUser("Secret@123");
+    }
+
+    @Test
+    void login_WhenPasswordIsWrong_ShouldNotUpgradePassword() {
+        User user = activeUser("legacyHash");
+        when(userRepository.findByLogin("user@infotech.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.verify("wrong", "legacyHash")).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class, () -> userService.login("user@infotech.com", "wrong"));
+        verify(userRepository, never()).save(any());
+    }
+
+    private static User activeUser(String passwordHash) {
+        User user = new User();
+        user.setId(1L);
+        user.setLogin("user@infotech.com");
+        user.setName("User");
+        user.setPassword(passwordHash);
+        user.setStatus(UserStatus.ACTIVE);
+        user.setType(UserType.USER);
+        user.setChangePwdOnLogin(false);
+        return user;
+    }
 }
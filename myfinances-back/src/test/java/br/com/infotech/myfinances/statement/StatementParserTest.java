@@ -0,0 +1,85 @@
+package br.com.infotech.myfinances.statement;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementParserTest {
+
+    @Test
+    void testCsvBrazilianFormat() throws IOException {
+        String csv = """
+                Data;Histórico;Valor
+                05/03/2025;"PIX RECEBIDO; SALARIO";"1.234,56"
+                10/03/2025;SUPERMERCADO X;-89,90
+                """;
+
+        List<StatementLine> lines = parse(new CsvStatementParser(), csv);
+
+        assertEquals(2, lines.size());
+        assertEquals(new StatementLine(LocalDate.of(2025, 3, 5), "PIX RECEBIDO; SALARIO", new BigDecimal("1234.56")),
+                lines.get(0));
+        assertEquals(new BigDecimal("-89.90"), lines.get(1).amount());
+    }
+
+    @Test
+    void testCsvIsoFormatWithoutHeader() throws IOException {
+        List<StatementLine> lines = parse(new CsvStatementParser(), "2025-03-10,ALUGUEL,-1500.00\n");
+
+        assertEquals(1, lines.size());
+        assertEquals(LocalDate.of(2025, 3, 10), lines.get(0).date());
+        assertEquals("ALUGUEL", lines.get(0).description());
+    }
+
+    @Test
+    void testCsvInvalidLine() {
+        assertThrows(IllegalArgumentException.class,
+                () -> parse(new CsvStatementParser(), "05/03/2025;SEM VALOR\n"));
+    }
+
+    @Test
+    void testOfxSgml() throws IOException {
+        String ofx = """
+                OFXHEADER:100
+                DATA:OFXSGML
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20250310120000[-3:BRT]
+                <TRNAMT>-89.90
+                <FITID>1
+                <MEMO>SUPERMERCADO X
+                </STMTTRN>
+                <STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20250305<TRNAMT>1234.56<NAME>SALARIO</STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+
+        List<StatementLine> lines = parse(new OfxStatementParser(), ofx);
+
+        assertEquals(2, lines.size());
+        assertEquals(new StatementLine(LocalDate.of(2025, 3, 10), "SUPERMERCADO X", new BigDecimal("-89.90")),
+                lines.get(0));
+        assertEquals(new StatementLine(LocalDate.of(2025, 3, 5), "SALARIO", new BigDecimal("1234.56")),
+                lines.get(1));
+    }
+
+    @Test
+    void testFormatFromFilename() {
+        assertEquals(StatementFormat.CSV, StatementFormat.fromFilename("extrato.CSV"));
+        assertEquals(StatementFormat.OFX, StatementFormat.fromFilename("extrato.ofx"));
+        assertThrows(IllegalArgumentException.class, () -> StatementFormat.fromFilename("extrato.pdf"));
+    }
+
+    private static List<StatementLine> parse(StatementParser parser, String content) throws IOException {
+        List<StatementLine> lines = new ArrayList<>();
+        parser.parse(new StringReader(content), lines::add);
+        return lines;
+    }
+}
@@ -30,4 +30,44 @@ class CryptUtilsTest {
 
         assertEquals(run1, run2);
     }
+
+    @Test
+    void testHashPasswordVerifies() {
+        String hash = CryptUtils.hashPassword("testPassword", 1000);
+
+        assertTrue(hash.startsWith("pbkdf2$1000$"));
+        assertTrue(CryptUtils.verifyPassword("testPassword", hash));
+        assertFalse(CryptUtils.verifyPassword("otherPassword", hash));
+    }
+
+    @Test
+    void testHashPasswordUsesRandomSalt() {
+        assertNotEquals(CryptUtils.hashPassword("testPassword", 1000), CryptUtils.hashPassword("testPassword", 1000));
+    }
+
+    @Test
+    void testVerifyLegacyHash() {
+        String legacy = CryptUtils.encrypt("testPassword");
+
+        assertTrue(CryptUtils.verifyPassword("testPassword", legacy));
+        assertFalse(CryptUtils.verifyPassword("otherPassword", legacy));
+        assertTrue(CryptUtils.needsRehash(legacy, 1000));
+    }
+
+    @Test
+    void testNeedsRehashOnIterationChange() {
+        String hash = CryptUtils.hashPassword("testPassword", 1000);
+
+        assertFalse(CryptUtils.needsRehash(hash, 1000));
+        assertTrue(CryptUtils.needsRehash(hash, 2000));
+    }
+
+    @Test
+    void testMalformedHashNeverVerifies() {
+        assertFalse(CryptUtils.verifyPassword("testPassword", "pbkdf2$abc$c2FsdA$aGFzaA"));
+        assertFalse(CryptUtils.verifyPassword("testPassword", "pbkdf2$0$c2FsdA$aGFzaA"));
+        assertFalse(CryptUtils.verifyPassword("testPassword", "pbkdf2$1000$not base64$aGFzaA"));
+        assertFalse(CryptUtils.verifyPassword("testPassword", "pbkdf2$1000$c2FsdA"));
+        assertTrue(CryptUtils.needsRehash("pbkdf2$abc$c2FsdA$aGFzaA", 1000));
+    }
 }
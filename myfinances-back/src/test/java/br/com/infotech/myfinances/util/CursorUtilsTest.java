@@ -0,0 +1,30 @@
+package br.com.infotech.myfinances.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorUtilsTest {
+
+    @Test
+    void testEncodeDecode() {
+        List<String> values = List.of("João da Silva", "", "42");
+
+        String cursor = CursorUtils.encode(values);
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+        assertEquals(values, CursorUtils.decode(cursor, 3));
+    }
+
+    @Test
+    void testDecodeInvalid() {
+        String cursor = CursorUtils.encode(List.of("42"));
+
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.decode(cursor, 2));
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.decode(cursor + "AA", 1));
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.decode("não é cursor", 1));
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.decode("", 1));
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.infotech.myfinances.bench;
+
+import br.com.infotech.myfinances.util.CryptUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password hashing: the legacy SHA-256 {@link CryptUtils#encrypt} and a PBKDF2
+ * verification at the configured work factors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CryptBenchmark {
+
+    private static final String PASSWORD = "MyFinances@123";
+
+    @Param({ "60000", "310000" })
+    private int iterations;
+
+    private String pbkdf2Hash;
+
+    @Setup
+    public void setUp() {
+        pbkdf2Hash = CryptUtils.hashPassword(PASSWORD, iterations);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String encryptSha256() {
+        return CryptUtils.encrypt(PASSWORD);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean verifyPbkdf2() {
+        return CryptUtils.verifyPassword(PASSWORD, pbkdf2Hash);
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.infotech.myfinances.bench;
+
+import br.com.infotech.myfinances.domain.Transaction;
+import br.com.infotech.myfinances.domain.TransactionMonth;
+import br.com.infotech.myfinances.domain.TransactionStatus;
+import br.com.infotech.myfinances.domain.TransactionType;
+import br.com.infotech.myfinances.domain.TransactionTypeStatus;
+import br.com.infotech.myfinances.domain.TransactionTypeType;
+import br.com.infotech.myfinances.domain.User;
+import br.com.infotech.myfinances.dto.TransactionDto;
+import br.com.infotech.myfinances.dto.TransactionMonthDto;
+import br.com.infotech.myfinances.dto.TransactionMonthSummaryDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic month data shared by the benchmarks.
+ */
+final class Fixtures {
+
+    private static final int TYPES = 12;
+
+    private Fixtures() {
+    }
+
+    static List<Transaction> transactions(int size) {
+        Random random = new Random(42);
+        User user = User.builder().id(1L).login("bench@myfinances.com").build();
+        TransactionMonth month = TransactionMonth.builder().id(1L).user(user).month(3).year(2025).status("OPEN").build();
+
+        List<TransactionType> types = new ArrayList<>(TYPES);
+        for (int i = 0; i < TYPES; i++) {
+            types.add(TransactionType.builder()
+                    .id((long) i + 1)
+                    .user(user)
+                    .type(i % 4 == 0 ? TransactionTypeType.INCOME : TransactionTypeType.EXPENSE)
+                    .description("Tipo " + i)
+                    .recurring(i % 3 == 0)
+                    .status(TransactionTypeStatus.ACTIVE)
+                    .build());
+        }
+
+        List<Transaction> transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            transactions.add(Transaction.builder()
+                    .id((long) i + 1)
+                    .user(user)
+                    .transactionMonth(month)
+                    .transactionType(types.get(random.nextInt(TYPES)))
+                    .transactionDate(LocalDate.of(2025, 3, 1 + random.nextInt(31)))
+                    .description("Lançamento " + random.nextInt(200))
+                    .amount(BigDecimal.valueOf(100 + random.nextInt(500_000), 2))
+                    .status(random.nextBoolean() ? TransactionStatus.COMPLETED : TransactionStatus.PENDING)
+                    .remark(random.nextInt(4) == 0 ? "Observação " + i : null)
+                    .createdAt(LocalDateTime.of(2025, 3, 1, 0, 0))
+                    .build());
+        }
+        return transactions;
+    }
+
+    /**
+     * Month rows in the date and id order the month query returns them.
+     */
+    static List<TransactionDto> rows(int size) {
+        return transactions(size).stream()
+                .sorted(Comparator.comparing(Transaction::getTransactionDate).thenComparing(Transaction::getId))
+                .map(Fixtures::toDto)
+                .toList();
+    }
+
+    /**
+     * Same mapping as TransactionMonthService#toTransactionDto.
+     */
+    static TransactionDto toDto(Transaction transaction) {
+        return TransactionDto.builder()
+                .id(transaction.getId())
+                .day(transaction.getTransactionDate().getDayOfMonth())
+                .transactionTypeId(transaction.getTransactionType().getId())
+                .type(transaction.getTransactionType().getType())
+                .description(transaction.getDescription())
+                .amount(transaction.getAmount())
+                .status(transaction.getStatus())
+                .remark(transaction.getRemark())
+                .build();
+    }
+
+    static TransactionMonthDto month(List<TransactionDto> transactions) {
+        return TransactionMonthDto.builder()
+                .id(1L)
+                .month(3)
+                .year(2025)
+                .status("OPEN")
+                .initialBalance(new BigDecimal("1500.00"))
+                .carryOver(false)
+                .version(7L)
+                .summary(TransactionMonthSummaryDto.builder()
+                        .incomeCompleted(new BigDecimal("8000.00"))
+                        .incomePending(new BigDecimal("500.00"))
+                        .expenseCompleted(new BigDecimal("6200.00"))
+                        .expensePending(new BigDecimal("900.00"))
+                        .closingBalance(new BigDecimal("2900.00"))
+                        .build())
+                .transactions(transactions)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.infotech.myfinances.bench;
+
+import br.com.infotech.myfinances.domain.TransactionStatus;
+import br.com.infotech.myfinances.domain.TransactionTypeType;
+import br.com.infotech.myfinances.dto.TransactionDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal totals over a month's transactions: a plain sum and the four
+ * income/expense x completed/pending totals of the month summary.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummationBenchmark {
+
+    @Param({ "10", "50", "200", "1000" })
+    private int monthSize;
+
+    private List<TransactionDto> transactions;
+
+    @Setup
+    public void setUp() {
+        transactions = Fixtures.rows(monthSize);
+    }
+
+    @Benchmark
+    public BigDecimal streamReduce() {
+        return transactions.stream()
+                .map(TransactionDto::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal loop() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (TransactionDto transaction : transactions) {
+            total = total.add(transaction.getAmount());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void summaryTotals(Blackhole blackhole) {
+        BigDecimal incomeCompleted = BigDecimal.ZERO;
+        BigDecimal incomePending = BigDecimal.ZERO;
+        BigDecimal expenseCompleted = BigDecimal.ZERO;
+        BigDecimal expensePending = BigDecimal.ZERO;
+        for (TransactionDto transaction : transactions) {
+            boolean income = transaction.getType() == TransactionTypeType.INCOME;
+            boolean completed = transaction.getStatus() == TransactionStatus.COMPLETED;
+            if (income && completed) {
+                incomeCompleted = incomeCompleted.add(transaction.getAmount());
+            } else if (income) {
+                incomePending = incomePending.add(transaction.getAmount());
+            } else if (completed) {
+                expenseCompleted = expenseCompleted.add(transaction.getAmount());
+            } else {
+                expensePending = expensePending.add(transaction.getAmount());
+            }
+        }
+        blackhole.consume(incomeCompleted);
+        blackhole.consume(incomePending);
+        blackhole.consume(expenseCompleted);
+        blackhole.consume(expensePending);
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.infotech.myfinances.bench;
+
+import br.com.infotech.myfinances.domain.Transaction;
+import br.com.infotech.myfinances.domain.TransactionTypeType;
+import br.com.infotech.myfinances.dto.TransactionDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a month's transactions and the ordering of the month
+ * view (day, then income before expense, then id). {@code comparatorSort} is the
+ * full sort the service ran before the month query returned rows in date and id
+ * order; {@code incomeFirst} is the single pass that replaced it. Both work on a
+ * copy of the same rows, so the copy is included in each. The mapping and the
+ * pass are copies of the private service methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionMonthMappingBenchmark {
+
+    private static final Comparator<TransactionDto> TRANSACTION_ORDER = Comparator
+            .comparing(TransactionDto::getDay)
+            .thenComparing(t -> t.getType() == TransactionTypeType.INCOME ? 0 : 1)
+            .thenComparing(TransactionDto::getId);
+
+    @Param({ "10", "50", "200", "1000" })
+    private int monthSize;
+
+    private List<Transaction> transactions;
+    private List<TransactionDto> rows;
+
+    @Setup
+    public void setUp() {
+        transactions = Fixtures.transactions(monthSize);
+        rows = Fixtures.rows(monthSize);
+    }
+
+    @Benchmark
+    public List<TransactionDto> mapToDtos() {
+        return transactions.stream().map(Fixtures::toDto).toList();
+    }
+
+    @Benchmark
+    public List<TransactionDto> comparatorSort() {
+        List<TransactionDto> ordered = new ArrayList<>(rows);
+        ordered.sort(TRANSACTION_ORDER);
+        return ordered;
+    }
+
+    @Benchmark
+    public List<TransactionDto> incomeFirst() {
+        List<TransactionDto> ordered = new ArrayList<>(rows);
+        incomeFirst(ordered);
+        return ordered;
+    }
+
+    /**
+     * Same pass as TransactionMonthService#incomeFirst.
+     */
+    private static void incomeFirst(List<TransactionDto> rows) {
+        List<TransactionDto> expenses = new ArrayList<>();
+        int start = 0;
+        while (start < rows.size()) {
+            int day = rows.get(start).getDay();
+            int write = start;
+            int end = start;
+            expenses.clear();
+            for (; end < rows.size() && rows.get(end).getDay() == day; end++) {
+                TransactionDto row = rows.get(end);
+                if (row.getType() == TransactionTypeType.INCOME) {
+                    rows.set(write++, row);
+                } else {
+                    expenses.add(row);
+                }
+            }
+            for (TransactionDto expense : expenses) {
+                rows.set(write++, expense);
+            }
+            start = end;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.infotech.myfinances.bench;
+
+import br.com.infotech.myfinances.cache.TransactionTypeIndex;
+import br.com.infotech.myfinances.domain.TransactionType;
+import br.com.infotech.myfinances.domain.TransactionTypeStatus;
+import br.com.infotech.myfinances.domain.TransactionTypeType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Substring search over a user's transaction types through the trigram index,
+ * for a selective term, a common word and a term too short for trigrams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionTypeSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "Mercado", "Restaurante", "Farmácia", "Combustível", "Aluguel", "Energia", "Escola", "Viagem",
+    };
+    private static final List<TransactionTypeType> ALL_TYPES = List.of(TransactionTypeType.values());
+
+    @Param({ "100", "5000" })
+    private int types;
+
+    @Param({ "posto 123", "mercado", "es" })
+    private String term;
+
+    private TransactionTypeIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<TransactionType> list = new ArrayList<>(types);
+        for (int i = 0; i < types; i++) {
+            list.add(TransactionType.builder()
+                    .id((long) i + 1)
+                    .type(i % 4 == 0 ? TransactionTypeType.INCOME : TransactionTypeType.EXPENSE)
+                    .description(WORDS[random.nextInt(WORDS.length)] + " Posto " + i)
+                    .recurring(false)
+                    .status(TransactionTypeStatus.ACTIVE)
+                    .build());
+        }
+        index = new TransactionTypeIndex(list);
+    }
+
+    @Benchmark
+    public List<TransactionType> search() {
+        return index.search(term, ALL_TYPES);
+    }
+}
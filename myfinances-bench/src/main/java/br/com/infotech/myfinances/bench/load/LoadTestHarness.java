@@ -0,0 +1,411 @@
+package br.com.infotech.myfinances.bench.load;
+
+import br.com.infotech.myfinances.MyFinances;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test against the REST API. Each client is a virtual thread
+ * impersonating one of the generated users (header X-User-Login) and runs a
+ * weighted mix of month reads, inserts, updates and deletes of its own rows
+ * until the duration ends. Latencies of the warm-up period are discarded.
+ * <p>
+ * Against a running backend whose database was filled by
+ * {@link SyntheticDataGenerator} with the same --users/--months/--start:
+ *
+ * <pre>
+ * java -cp myfinances-bench/target/benchmarks.jar br.com.infotech.myfinances.bench.load.LoadTestHarness \
+ *     --base-url=http://localhost:8080 --users=50 --months=12 --clients=64 --duration=60s --warmup=10s \
+ *     --mix=get=70,add=15,update=10,delete=5
+ * </pre>
+ *
+ * {@code report} in the mix reads the period report of the last
+ * --report-months (default 12) generated months. Running {@code --mix=report=1}
+ * with a small and a large --months shows whether its latency stays flat as
+ * the history grows, since only the range is aggregated:
+ *
+ * <pre>
+ * java -cp myfinances-bench/target/benchmarks.jar br.com.infotech.myfinances.bench.load.LoadTestHarness \
+ *     --embedded --users=4 --months=600 --clients=8 --duration=30s --mix=report=1
+ * </pre>
+ *
+ * With {@code --embedded} it starts an embedded PostgreSQL, the backend in a
+ * separate JVM on a free port (migrations from --flyway, default flyway/common)
+ * and the generator before the run, so it needs nothing else; the clients do
+ * not share heap, GC or carrier threads with the server they measure.
+ * {@code --delta} asks the write endpoints for
+ * {@code application/vnd.myfinances.delta+json}.
+ * <p>
+ * {@code --virtual-threads=true|false} sets spring.threads.virtual.enabled of
+ * the embedded backend. Running the same read-heavy mix once with each value
+ * compares the two thread modes:
+ *
+ * <pre>
+ * java -cp myfinances-bench/target/benchmarks.jar br.com.infotech.myfinances.bench.load.LoadTestHarness \
+ *     --embedded --virtual-threads=false --users=50 --clients=1000 --duration=60s --mix=get=1
+ * </pre>
+ */
+public class LoadTestHarness {
+
+    private static final String DELTA_MEDIA_TYPE = "application/vnd.myfinances.delta+json";
+
+    enum Op { GET, ADD, UPDATE, DELETE, REPORT }
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final int users;
+    private final int months;
+    private final YearMonth start;
+    private final boolean delta;
+    private final int reportMonths;
+    private final Op[] wheel;
+    private final Map<Op, Recorder> recorders = new EnumMap<>(Op.class);
+
+    private volatile boolean recording;
+
+    LoadTestHarness(String baseUrl, int users, int months, YearMonth start, boolean delta, int reportMonths,
+            String mix) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.months = months;
+        this.start = start;
+        this.delta = delta;
+        this.reportMonths = Math.min(reportMonths, months);
+        this.wheel = parseMix(mix);
+        for (Op op : Op.values()) {
+            recorders.put(op, new Recorder());
+        }
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        String baseUrl = args.get("base-url", "http://localhost:8080");
+        EmbeddedPostgres postgres = null;
+        Process backend = null;
+
+        try {
+            if (args.getBoolean("embedded")) {
+                postgres = EmbeddedPostgres.builder().start();
+                String url = postgres.getJdbcUrl("postgres", "postgres");
+                int port = freePort();
+                backend = startBackend(url, resolveFlyway(args.get("flyway", "flyway/common")), port,
+                        args.get("virtual-threads", null));
+                baseUrl = "http://localhost:" + port;
+                awaitBackend(backend, port, args.getDuration("startup-timeout", Duration.ofMinutes(2)));
+                try (Connection connection = postgres.getPostgresDatabase().getConnection()) {
+                    SyntheticDataGenerator.fromArgs(args).generate(connection);
+                }
+            }
+
+            LoadTestHarness harness = new LoadTestHarness(baseUrl,
+                    args.getInt("users", 50),
+                    args.getInt("months", 12),
+                    args.getYearMonth("start", YearMonth.now().minusMonths(11)),
+                    args.getBoolean("delta"),
+                    args.getInt("report-months", 12),
+                    args.get("mix", "get=70,add=15,update=10,delete=5"));
+            harness.run(args.getInt("clients", 64),
+                    args.getDuration("warmup", Duration.ofSeconds(10)),
+                    args.getDuration("duration", Duration.ofSeconds(60)));
+        } finally {
+            if (backend != null) {
+                backend.destroy();
+                if (!backend.waitFor(30, TimeUnit.SECONDS)) {
+                    backend.destroyForcibly();
+                }
+            }
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static Process startBackend(String jdbcUrl, Path flyway, int port, String virtualThreads)
+            throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                MyFinances.class.getName(),
+                // Command-line arguments, so they take precedence over application.yml
+                "--server.port=" + port,
+                "--management.server.port=-1",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.flyway.locations=filesystem:" + flyway.toAbsolutePath(),
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--logging.level.root=WARN",
+                "--logging.level.br.com.infotech=WARN"));
+        if (virtualThreads != null) {
+            command.add("--spring.threads.virtual.enabled=" + virtualThreads);
+        }
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Waits until the backend accepts connections. Jetty only listens once the
+     * context, migrations included, is up.
+     */
+    private static void awaitBackend(Process backend, int port, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!backend.isAlive()) {
+                throw new IllegalStateException("Backend exited with code " + backend.exitValue());
+            }
+            try (Socket socket = new Socket("localhost", port)) {
+                return;
+            } catch (IOException e) {
+                Thread.sleep(200);
+            }
+        }
+        throw new IllegalStateException("Backend did not start within " + timeout);
+    }
+
+    private static Path resolveFlyway(String location) {
+        Path path = Path.of(location);
+        if (!Files.isDirectory(path) && Files.isDirectory(Path.of("..").resolve(location))) {
+            path = Path.of("..").resolve(location);
+        }
+        if (!Files.isDirectory(path)) {
+            throw new IllegalArgumentException("Flyway migrations not found: " + location);
+        }
+        return path;
+    }
+
+    private static Op[] parseMix(String mix) {
+        List<Op> wheel = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.split("=");
+            Op op = Op.valueOf(pair[0].trim().toUpperCase());
+            for (int i = Integer.parseInt(pair[1].trim()); i > 0; i--) {
+                wheel.add(op);
+            }
+        }
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("Empty mix: " + mix);
+        }
+        return wheel.toArray(Op[]::new);
+    }
+
+    void run(int clients, Duration warmup, Duration duration) throws InterruptedException {
+        System.out.printf("Running %d clients against %s for %s (warm-up %s, delta=%s)%n",
+                clients, baseUrl, duration, warmup, delta);
+        long end = System.nanoTime() + warmup.toNanos() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                long seed = c;
+                executor.submit(() -> new Client(seed).loop(end));
+            }
+            Thread.sleep(warmup.toMillis());
+            recording = true;
+            long recordingStart = System.nanoTime();
+            executor.shutdown();
+            executor.awaitTermination(duration.toMillis() + 60_000, TimeUnit.MILLISECONDS);
+            report((System.nanoTime() - recordingStart) / 1e9);
+        }
+    }
+
+    private void report(double seconds) {
+        System.out.printf("%n%-8s %9s %7s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        Recorder total = new Recorder();
+        for (Map.Entry<Op, Recorder> entry : recorders.entrySet()) {
+            print(entry.getKey().name().toLowerCase(), entry.getValue(), seconds);
+            total.merge(entry.getValue());
+        }
+        print("total", total, seconds);
+    }
+
+    private static void print(String name, Recorder recorder, double seconds) {
+        long[] sorted = recorder.sorted();
+        System.out.printf("%-8s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                name, sorted.length, recorder.errors.get(), sorted.length / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+
+    /**
+     * Latencies in nanoseconds; appends are rare enough next to an HTTP round
+     * trip that a synchronized list is fine.
+     */
+    private static final class Recorder {
+        private final List<Long> latencies = new ArrayList<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void record(long nanos) {
+            latencies.add(nanos);
+        }
+
+        synchronized void merge(Recorder other) {
+            latencies.addAll(other.latencies);
+            errors.addAndGet(other.errors.get());
+        }
+
+        synchronized long[] sorted() {
+            return latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+    }
+
+    private final class Client {
+        private final Random random;
+        private final String login;
+        private final YearMonth yearMonth;
+        private final Deque<Long> added = new ArrayDeque<>();
+        private JsonNode month;
+
+        Client(long seed) {
+            this.random = new Random(seed);
+            this.login = SyntheticDataGenerator.login(1 + (int) (seed % users));
+            this.yearMonth = start.plusMonths(random.nextInt(months));
+        }
+
+        void loop(long end) {
+            while (System.nanoTime() < end) {
+                Op op = wheel[random.nextInt(wheel.length)];
+                // Writes need the month loaded by a GET first; the report does not
+                if (op != Op.REPORT && (month == null
+                        || (op == Op.UPDATE && !month.path("transactions").elements().hasNext()))) {
+                    op = Op.GET;
+                } else if (op == Op.DELETE && added.isEmpty()) {
+                    op = Op.ADD;
+                }
+                try {
+                    execute(op);
+                } catch (IOException | RuntimeException e) {
+                    if (recording) {
+                        recorders.get(op).errors.incrementAndGet();
+                    }
+                    month = null;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void execute(Op op) throws IOException, InterruptedException {
+            HttpRequest.Builder request = switch (op) {
+                case GET -> request("/transaction-months/" + yearMonth.getYear() + "/" + yearMonth.getMonthValue())
+                        .GET();
+                case ADD -> write("/transaction-months/" + month.path("id").asLong() + "/transactions")
+                        .POST(HttpRequest.BodyPublishers.ofString(newTransaction()));
+                case UPDATE -> write("/transaction-months/transactions/" + pickTransaction().path("id").asLong())
+                        .PUT(HttpRequest.BodyPublishers.ofString(changedTransaction()));
+                case DELETE -> write("/transaction-months/transactions/" + added.pop()).DELETE();
+                case REPORT -> request("/transaction-months/report?from=" + start.plusMonths(months - reportMonths)
+                        + "&to=" + start.plusMonths(months - 1)).GET();
+            };
+
+            long started = System.nanoTime();
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - started;
+
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException(op + " returned " + response.statusCode());
+            }
+            if (recording) {
+                recorders.get(op).record(elapsed);
+            }
+            handle(op, response.body());
+        }
+
+        private void handle(Op op, byte[] body) throws IOException {
+            if (op == Op.REPORT) {
+                return;
+            }
+            JsonNode json = mapper.readTree(body);
+            if (op == Op.GET) {
+                month = json;
+            } else if (delta) {
+                if (op == Op.ADD) {
+                    added.push(json.path("transaction").path("id").asLong());
+                }
+                // The cached month is only used to pick ids; a stale list is fine until the next GET
+            } else {
+                if (op == Op.ADD) {
+                    long newest = 0;
+                    for (JsonNode transaction : json.path("transactions")) {
+                        newest = Math.max(newest, transaction.path("id").asLong());
+                    }
+                    added.push(newest);
+                }
+                month = json;
+            }
+        }
+
+        private JsonNode pickTransaction() {
+            JsonNode transactions = month.path("transactions");
+            return transactions.get(random.nextInt(transactions.size()));
+        }
+
+        private String newTransaction() {
+            JsonNode transactions = month.path("transactions");
+            ObjectNode node = mapper.createObjectNode();
+            node.put("day", 1 + random.nextInt(yearMonth.lengthOfMonth()));
+            node.put("transactionTypeId", transactions.size() == 0
+                    ? 0 : transactions.get(random.nextInt(transactions.size())).path("transactionTypeId").asLong());
+            node.put("description", "Carga " + random.nextInt(1000));
+            node.put("amount", 1 + random.nextInt(50_000) / 100.0);
+            node.put("status", "PENDING");
+            return node.toString();
+        }
+
+        private String changedTransaction() {
+            ObjectNode node = pickTransaction().deepCopy();
+            node.put("amount", 1 + random.nextInt(50_000) / 100.0);
+            return node.toString();
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("X-User-Login", login)
+                    .header("Accept", "application/json");
+        }
+
+        private HttpRequest.Builder write(String path) {
+            HttpRequest.Builder builder = request(path).header("Content-Type", "application/json");
+            return delta ? builder.setHeader("Accept", DELTA_MEDIA_TYPE) : builder;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package br.com.infotech.myfinances.bench.load;
+
+import br.com.infotech.myfinances.util.CryptUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates N users, each with M transaction types and K months of
+ * transactions, directly over JDBC into a database migrated by flyway/common.
+ * <p>
+ * Each month gets one row per recurring type on its default day plus a random
+ * number of one-off expenses and the occasional one-off income. Rows dated
+ * before today are COMPLETED, the rest PENDING, and the month totals are stored
+ * consistently. Users are named {@code load-0001@myfinances.com} and so on, with
+ * the password {@value #PASSWORD}; users that already exist are skipped.
+ *
+ * <pre>
+ * java -cp myfinances-bench/target/benchmarks.jar br.com.infotech.myfinances.bench.load.SyntheticDataGenerator \
+ *     --url=jdbc:postgresql://localhost:5432/myfinance_db --user=admin --password=admin \
+ *     --users=100 --types=12 --months=24 --start=2024-01
+ * </pre>
+ */
+public class SyntheticDataGenerator {
+
+    static final String PASSWORD = "MyFinances@123";
+
+    private static final TypeTemplate[] TEMPLATES = {
+            new TypeTemplate("Salário", true, true, 5, 6500),
+            new TypeTemplate("Aluguel", false, true, 10, 1800),
+            new TypeTemplate("Mercado", false, false, null, 180),
+            new TypeTemplate("Energia", false, true, 15, 220),
+            new TypeTemplate("Restaurante", false, false, null, 75),
+            new TypeTemplate("Internet", false, true, 20, 120),
+            new TypeTemplate("Combustível", false, false, null, 200),
+            new TypeTemplate("Freelance", true, false, null, 900),
+            new TypeTemplate("Condomínio", false, true, 8, 650),
+            new TypeTemplate("Farmácia", false, false, null, 60),
+            new TypeTemplate("Academia", false, true, 3, 110),
+            new TypeTemplate("Lazer", false, false, null, 150),
+            new TypeTemplate("Escola", false, true, 10, 950),
+            new TypeTemplate("Vestuário", false, false, null, 230),
+            new TypeTemplate("Reembolso", true, false, null, 140),
+            new TypeTemplate("Transporte", false, false, null, 45),
+    };
+
+    private static final String[] MERCHANTS = {
+            "Padaria Central", "Supermercado Bom Preço", "Posto Avenida", "Drogaria Saúde", "Loja Online",
+            "Bar do Zé", "Feira", "Cinema", "App de Transporte", "Lanchonete",
+    };
+
+    private final int users;
+    private final int types;
+    private final int months;
+    private final YearMonth start;
+    private final Random random;
+    private final LocalDate today = LocalDate.now();
+
+    public SyntheticDataGenerator(int users, int types, int months, YearMonth start, long seed) {
+        this.users = users;
+        this.types = types;
+        this.months = months;
+        this.start = start;
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] argv) throws SQLException {
+        Args args = new Args(argv);
+        SyntheticDataGenerator generator = fromArgs(args);
+        try (Connection connection = DriverManager.getConnection(
+                args.get("url", "jdbc:postgresql://localhost:5432/myfinance_db"),
+                args.get("user", "admin"),
+                args.get("password", "admin"))) {
+            generator.generate(connection);
+        }
+    }
+
+    static SyntheticDataGenerator fromArgs(Args args) {
+        return new SyntheticDataGenerator(
+                args.getInt("users", 50),
+                args.getInt("types", 12),
+                args.getInt("months", 12),
+                args.getYearMonth("start", YearMonth.now().minusMonths(11)),
+                args.getLong("seed", 42));
+    }
+
+    static String login(int index) {
+        return String.format("load-%04d@myfinances.com", index);
+    }
+
+    public void generate(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        String password = CryptUtils.encrypt(PASSWORD);
+        long started = System.nanoTime();
+        long rows = 0;
+
+        for (int u = 1; u <= users; u++) {
+            Long userId = insertUser(connection, login(u), password);
+            if (userId == null) {
+                continue;
+            }
+            List<Type> userTypes = insertTypes(connection, userId);
+            for (int k = 0; k < months; k++) {
+                rows += insertMonth(connection, userId, userTypes, start.plusMonths(k));
+            }
+            connection.commit();
+            if (u % 10 == 0 || u == users) {
+                System.out.printf("Generated %d/%d users (%d transactions)%n", u, users, rows);
+            }
+        }
+        System.out.printf("Done: %d transactions in %.1fs%n", rows, (System.nanoTime() - started) / 1e9);
+    }
+
+    private Long insertUser(Connection connection, String login, String password) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO \"user\" (login, name, password, status, type, change_pwd_on_login) " +
+                        "VALUES (?, ?, ?, 'ACTIVE', 'USER', false) ON CONFLICT DO NOTHING RETURNING id")) {
+            ps.setString(1, login);
+            ps.setString(2, "Usuário " + login.substring(0, login.indexOf('@')));
+            ps.setString(3, password);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    private List<Type> insertTypes(Connection connection, long userId) throws SQLException {
+        List<Type> result = new ArrayList<>(types);
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO transaction_type (user_id, type, description, recurring, default_day, status) " +
+                        "VALUES (?, ?, ?, ?, ?, 'ACTIVE') RETURNING id")) {
+            for (int i = 0; i < types; i++) {
+                TypeTemplate template = TEMPLATES[i % TEMPLATES.length];
+                String description = i < TEMPLATES.length ? template.name() : template.name() + " " + (i / TEMPLATES.length + 1);
+                ps.setLong(1, userId);
+                ps.setString(2, template.income() ? "INCOME" : "EXPENSE");
+                ps.setString(3, description);
+                ps.setBoolean(4, template.recurring());
+                ps.setObject(5, template.defaultDay());
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    result.add(new Type(rs.getLong(1), description, template));
+                }
+            }
+        }
+        return result;
+    }
+
+    private int insertMonth(Connection connection, long userId, List<Type> userTypes, YearMonth yearMonth)
+            throws SQLException {
+        List<Row> rows = new ArrayList<>();
+        List<Type> oneOffExpenses = userTypes.stream().filter(t -> !t.template().recurring() && !t.template().income()).toList();
+        List<Type> oneOffIncomes = userTypes.stream().filter(t -> !t.template().recurring() && t.template().income()).toList();
+
+        for (Type type : userTypes) {
+            if (type.template().recurring()) {
+                int day = Math.min(type.template().defaultDay(), yearMonth.lengthOfMonth());
+                double variance = type.template().income() ? 1.0 : 0.95 + random.nextDouble() * 0.1;
+                rows.add(new Row(type, yearMonth.atDay(day), type.description(), amount(type.template().base() * variance)));
+            }
+        }
+        int oneOff = oneOffExpenses.isEmpty() ? 0 : 15 + random.nextInt(26);
+        for (int i = 0; i < oneOff; i++) {
+            Type type = oneOffExpenses.get(random.nextInt(oneOffExpenses.size()));
+            double base = type.template().base() * (0.2 + random.nextDouble() * 1.6);
+            rows.add(new Row(type, yearMonth.atDay(1 + random.nextInt(yearMonth.lengthOfMonth())),
+                    MERCHANTS[random.nextInt(MERCHANTS.length)], amount(base)));
+        }
+        if (!oneOffIncomes.isEmpty() && random.nextInt(3) == 0) {
+            Type type = oneOffIncomes.get(random.nextInt(oneOffIncomes.size()));
+            rows.add(new Row(type, yearMonth.atDay(1 + random.nextInt(yearMonth.lengthOfMonth())),
+                    type.description(), amount(type.template().base() * (0.5 + random.nextDouble()))));
+        }
+
+        BigDecimal incomeCompleted = BigDecimal.ZERO;
+        BigDecimal incomePending = BigDecimal.ZERO;
+        BigDecimal expenseCompleted = BigDecimal.ZERO;
+        BigDecimal expensePending = BigDecimal.ZERO;
+        for (Row row : rows) {
+            boolean completed = row.date().isBefore(today);
+            if (row.type().template().income()) {
+                if (completed) {
+                    incomeCompleted = incomeCompleted.add(row.amount());
+                } else {
+                    incomePending = incomePending.add(row.amount());
+                }
+            } else if (completed) {
+                expenseCompleted = expenseCompleted.add(row.amount());
+            } else {
+                expensePending = expensePending.add(row.amount());
+            }
+        }
+        BigDecimal closing = incomeCompleted.add(incomePending).subtract(expenseCompleted).subtract(expensePending);
+
+        long monthId;
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO transaction_month (user_id, month, year, status, initial_balance, income_completed, " +
+                        "income_pending, expense_completed, expense_pending, closing_balance) " +
+                        "VALUES (?, ?, ?, 'OPEN', 0, ?, ?, ?, ?, ?) RETURNING id")) {
+            ps.setLong(1, userId);
+            ps.setInt(2, yearMonth.getMonthValue());
+            ps.setInt(3, yearMonth.getYear());
+            ps.setBigDecimal(4, incomeCompleted);
+            ps.setBigDecimal(5, incomePending);
+            ps.setBigDecimal(6, expenseCompleted);
+            ps.setBigDecimal(7, expensePending);
+            ps.setBigDecimal(8, closing);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                monthId = rs.getLong(1);
+            }
+        }
+
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO transaction (user_id, transaction_type_id, transaction_month_id, transaction_date, " +
+                        "description, amount, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, LOCALTIMESTAMP)")) {
+            for (Row row : rows) {
+                ps.setLong(1, userId);
+                ps.setLong(2, row.type().id());
+                ps.setLong(3, monthId);
+                ps.setDate(4, Date.valueOf(row.date()));
+                ps.setString(5, row.description());
+                ps.setBigDecimal(6, row.amount());
+                ps.setString(7, row.date().isBefore(today) ? "COMPLETED" : "PENDING");
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        return rows.size();
+    }
+
+    private static BigDecimal amount(double value) {
+        return BigDecimal.valueOf(Math.max(1, value)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private record TypeTemplate(String name, boolean income, boolean recurring, Integer defaultDay, double base) {
+    }
+
+    private record Type(long id, String description, TypeTemplate template) {
+    }
+
+    private record Row(Type type, LocalDate date, String description, BigDecimal amount) {
+    }
+}
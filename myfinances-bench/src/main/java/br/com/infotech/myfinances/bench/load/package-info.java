@@ -0,0 +1,16 @@
+/**
+ * Synthetic data and end-to-end load tests through the REST API.
+ * <p>
+ * {@link br.com.infotech.myfinances.bench.load.SyntheticDataGenerator} fills a
+ * migrated database with N users x M types x K months;
+ * {@link br.com.infotech.myfinances.bench.load.LoadTestHarness} runs a
+ * configurable read/write mix against it and prints throughput and latency
+ * percentiles per operation. Both ship in {@code benchmarks.jar}:
+ *
+ * <pre>
+ * mvn -pl myfinances-bench -am package -DskipTests
+ * java -cp myfinances-bench/target/benchmarks.jar br.com.infotech.myfinances.bench.load.LoadTestHarness \
+ *     --embedded --users=50 --months=12 --clients=64 --duration=60s
+ * </pre>
+ */
+package br.com.infotech.myfinances.bench.load;
@@ -0,0 +1,15 @@
+/**
+ * JMH benchmarks for the backend code that runs on every request.
+ * <p>
+ * Build and run from the repository root:
+ *
+ * <pre>
+ * mvn -pl myfinances-bench -am package -DskipTests
+ * java -jar myfinances-bench/target/benchmarks.jar
+ * </pre>
+ *
+ * Standard JMH options apply, e.g. {@code -p monthSize=200} or a benchmark
+ * name regex. Rerun and compare against the previous results before accepting
+ * a performance-motivated change.
+ */
+package br.com.infotech.myfinances.bench;